@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.nebula.jface.gridviewer;
+
+import org.eclipse.jface.viewers.CellLabelProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.ViewerCell;
+import org.eclipse.nebula.jface.gridviewer.internal.ConcurrentLabels;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * Wraps the {@link IConcurrentLabelProvider} of a {@link GridViewerColumn}.
+ * The labels that the viewer has computed in parallel are applied to the
+ * cells directly, all other cells and all other requests are passed to the
+ * wrapped label provider.
+ */
+class ConcurrentLabelProviderAdapter extends CellLabelProvider {
+
+	private final GridViewerColumn column;
+	private final ColumnLabelProvider labelProvider;
+
+	ConcurrentLabelProviderAdapter(GridViewerColumn column,
+			ColumnLabelProvider labelProvider) {
+		this.column = column;
+		this.labelProvider = labelProvider;
+	}
+
+	ColumnLabelProvider getLabelProvider() {
+		return labelProvider;
+	}
+
+	/** {@inheritDoc} */
+	public void update(ViewerCell cell) {
+		ConcurrentLabels labels = column.getConcurrentLabels();
+		if (labels == null || !labels.update(cell)) {
+			labelProvider.update(cell);
+		}
+	}
+
+	/** {@inheritDoc} */
+	public void addListener(ILabelProviderListener listener) {
+		labelProvider.addListener(listener);
+	}
+
+	/** {@inheritDoc} */
+	public void removeListener(ILabelProviderListener listener) {
+		labelProvider.removeListener(listener);
+	}
+
+	/** {@inheritDoc} */
+	public boolean isLabelProperty(Object element, String property) {
+		return labelProvider.isLabelProperty(element, property);
+	}
+
+	/** {@inheritDoc} */
+	public void dispose() {
+		labelProvider.dispose();
+	}
+
+	/** {@inheritDoc} */
+	public String getToolTipText(Object element) {
+		return labelProvider.getToolTipText(element);
+	}
+
+	/** {@inheritDoc} */
+	public Image getToolTipImage(Object element) {
+		return labelProvider.getToolTipImage(element);
+	}
+
+	/** {@inheritDoc} */
+	public Color getToolTipBackgroundColor(Object element) {
+		return labelProvider.getToolTipBackgroundColor(element);
+	}
+
+	/** {@inheritDoc} */
+	public Color getToolTipForegroundColor(Object element) {
+		return labelProvider.getToolTipForegroundColor(element);
+	}
+
+	/** {@inheritDoc} */
+	public Font getToolTipFont(Object element) {
+		return labelProvider.getToolTipFont(element);
+	}
+
+	/** {@inheritDoc} */
+	public Point getToolTipShift(Object element) {
+		return labelProvider.getToolTipShift(element);
+	}
+
+	/** {@inheritDoc} */
+	public boolean useNativeToolTip(Object element) {
+		return labelProvider.useNativeToolTip(element);
+	}
+
+	/** {@inheritDoc} */
+	public int getToolTipTimeDisplayed(Object element) {
+		return labelProvider.getToolTipTimeDisplayed(element);
+	}
+
+	/** {@inheritDoc} */
+	public int getToolTipDisplayDelayTime(Object element) {
+		return labelProvider.getToolTipDisplayDelayTime(element);
+	}
+
+	/** {@inheritDoc} */
+	public int getToolTipStyle(Object element) {
+		return labelProvider.getToolTipStyle(element);
+	}
+}
@@ -12,15 +12,22 @@
 
 package org.eclipse.nebula.jface.gridviewer;
 
+import java.util.concurrent.Executor;
+
 import org.eclipse.jface.viewers.AbstractTableViewer;
 import org.eclipse.jface.viewers.CellLabelProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
 import org.eclipse.jface.viewers.ColumnViewerEditor;
 import org.eclipse.jface.viewers.ColumnViewerEditorActivationEvent;
 import org.eclipse.jface.viewers.ColumnViewerEditorActivationStrategy;
+import org.eclipse.jface.viewers.IElementComparer;
+import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.ViewerCell;
 import org.eclipse.jface.viewers.ViewerRow;
+import org.eclipse.nebula.jface.gridviewer.internal.ConcurrentLabels;
+import org.eclipse.nebula.jface.gridviewer.internal.ElementDiff;
 import org.eclipse.nebula.jface.gridviewer.internal.SelectionWithFocusRow;
 import org.eclipse.nebula.widgets.grid.Grid;
 import org.eclipse.nebula.widgets.grid.GridItem;
@@ -43,6 +50,11 @@ import org.eclipse.swt.widgets.Widget;
  * ITreeContentProvider} interface. Instead a {@link GridTreeViewer} should be
  * used.
  * <p>
+ * With {@link #setIncrementalRefresh(boolean)}, a refresh of the input keeps
+ * the rows of unchanged elements. In this mode {@link #refresh(boolean)} with
+ * <code>false</code> doesn't update the labels of elements that changed in
+ * place, like in other structured viewers, while {@link #refresh()} still
+ * updates the labels of all rows.
  */
 public class GridTableViewer extends AbstractTableViewer {
 	/** This viewer's grid control. */
@@ -58,6 +70,26 @@ public class GridTableViewer extends AbstractTableViewer {
 	 */
 	private boolean autoPreferredHeight = false;
 
+	/** The nesting depth of refreshes and updates that defer packing. */
+	private int batchDepth;
+
+	/** True if a row has to be packed when the outermost batch ends. */
+	private boolean packPending;
+
+	private Executor labelExecutor;
+
+	/** If true, a refresh of the input only applies the changed rows. */
+	private boolean incrementalRefresh = false;
+
+	/** The labels computed in parallel for the current batch. */
+	private ConcurrentLabels concurrentLabels;
+
+	/**
+	 * The sorted children of the input during a refresh of the input, so that
+	 * the content provider, the filters and the sorter are queried only once.
+	 */
+	private Object[] refreshedChildren;
+
 	/**
 	 * Creates a grid viewer on a newly-created grid control under the given
 	 * parent. The grid control is created using the SWT style bits
@@ -133,19 +165,19 @@ public class GridTableViewer extends AbstractTableViewer {
 	/** {@inheritDoc} */
 	@Override
   protected void doClear(int index) {
-		// TODO Fix when grid supports virtual
+		grid.clear(index, false);
 	}
 
 	/** {@inheritDoc} */
 	@Override
   protected void doClearAll() {
-		// TODO Fix when grid supports virtual
+		grid.clearAll(false);
 	}
 
 	/** {@inheritDoc} */
 	@Override
   protected void doSetItemCount(int count) {
-		// TODO Once grid supports virtual
+		grid.setItemCount(count);
 	}
 
 	/** {@inheritDoc} */
@@ -282,7 +314,7 @@ public class GridTableViewer extends AbstractTableViewer {
 		int columnCount = Math.max(1, grid.getColumnCount());
 		for (int i = 0; i < columnCount; i++) {
 			gridItem.setText(i, ""); //$NON-NLS-1$
-			gridItem.setImage(null);
+			gridItem.setImage(i, null);
 		}
 	}
 
@@ -329,8 +361,199 @@ public class GridTableViewer extends AbstractTableViewer {
   protected void doUpdateItem(Widget widget, Object element, boolean fullMap) {
 		super.doUpdateItem(widget, element, fullMap);
 		updateRowHeader(widget);
-		if (autoPreferredHeight && !widget.isDisposed())
-			((GridItem) widget).pack();
+		if (autoPreferredHeight && !widget.isDisposed()) {
+			if (batchDepth > 0) {
+				packPending = true;
+			} else {
+				((GridItem) widget).pack();
+			}
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+  protected void internalRefresh(Object element, boolean updateLabels) {
+		Object[] previousChildren = refreshedChildren;
+		refreshedChildren = null;
+		beginBatch();
+		try {
+			if (updateLabels && labelExecutor != null && getRoot() != null
+					&& (element == null || equals(element, getRoot()))
+					&& !(getContentProvider() instanceof ILazyContentProvider)) {
+				refreshedChildren = getSortedChildren(getRoot());
+				computeConcurrentLabels(refreshedChildren);
+			}
+			if (isIncrementalRefresh(element)) {
+				internalIncrementalRefresh(updateLabels);
+			} else {
+				super.internalRefresh(element, updateLabels);
+			}
+		} finally {
+			refreshedChildren = previousChildren;
+			endBatch();
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+  protected Object[] getSortedChildren(Object parent) {
+		// reuse the children whose labels have been computed in parallel, the
+		// labels are looked up by the identity of the elements
+		if (refreshedChildren != null && parent == getRoot()) {
+			return refreshedChildren;
+		}
+		return super.getSortedChildren(parent);
+	}
+
+	/**
+	 * When set to true, a refresh of the input compares the new elements with
+	 * the elements of the existing rows and applies only the difference: rows
+	 * of removed elements are disposed, rows of new elements are inserted and
+	 * rows of moved elements are moved, with the fewest moves possible. Rows
+	 * are kept in place with their selection and check state. The default is
+	 * false.
+	 * <p>
+	 * {@link #refresh()} and {@link #refresh(boolean)} with <code>true</code>
+	 * update the labels of all rows as usual. With {@link #refresh(boolean)}
+	 * and <code>false</code>, the labels of a kept row are only updated if its
+	 * element has been replaced by an equal but different instance, hence
+	 * elements that changed in place are not relabeled and should be updated
+	 * with {@link #update(Object[], String[])}.
+	 * </p>
+	 * <p>
+	 * Elements are compared with the {@link IElementComparer} of the viewer.
+	 * The mode has no effect on a grid with the <code>SWT.VIRTUAL</code>
+	 * style.
+	 *
+	 * @param incrementalRefresh
+	 *            true to apply only the difference on a refresh
+	 */
+	public void setIncrementalRefresh(boolean incrementalRefresh) {
+		this.incrementalRefresh = incrementalRefresh;
+	}
+
+	/**
+	 * @return true if a refresh only applies the difference to the rows
+	 * @see #setIncrementalRefresh(boolean)
+	 */
+	public boolean getIncrementalRefresh() {
+		return incrementalRefresh;
+	}
+
+	private boolean isIncrementalRefresh(Object element) {
+		return incrementalRefresh
+				&& getRoot() != null
+				&& (element == null || equals(element, getRoot()))
+				&& (grid.getStyle() & SWT.VIRTUAL) == 0;
+	}
+
+	private void internalIncrementalRefresh(boolean updateLabels) {
+		Object[] elements = getSortedChildren(getRoot());
+		GridItem[] items = grid.getItems();
+		Object[] oldElements = new Object[items.length];
+		for (int i = 0; i < items.length; i++) {
+			oldElements[i] = items[i].getData();
+		}
+		ElementDiff diff = new ElementDiff(oldElements, elements, getComparer());
+		// back to front, so that the indices of the remaining rows don't change
+		for (int i = items.length - 1; i >= 0; i--) {
+			if (!diff.isKept(i)) {
+				if (items[i].getData() != null) {
+					disassociate(items[i]);
+				}
+				items[i].dispose();
+			}
+		}
+		// each row is placed before the row of the following element
+		GridItem anchor = null;
+		for (int i = elements.length - 1; i >= 0; i--) {
+			int index = anchor == null ? grid.getItemCount() : grid.indexOf(anchor);
+			int oldIndex = diff.getOldIndex(i);
+			GridItem item;
+			if (oldIndex == -1) {
+				item = (GridItem) internalCreateNewRowPart(SWT.NONE, index).getItem();
+				updateItem(item, elements[i]);
+			} else {
+				item = items[oldIndex];
+				if (!diff.isStable(i)) {
+					item.moveTo(grid.indexOf(item) < index ? index - 1 : index);
+				}
+				if (updateLabels || item.getData() != elements[i]) {
+					updateItem(item, elements[i]);
+				}
+			}
+			anchor = item;
+		}
+	}
+
+	/** {@inheritDoc} */
+	@Override
+  public void update(Object[] elements, String[] properties) {
+		beginBatch();
+		try {
+			computeConcurrentLabels(elements);
+			super.update(elements, properties);
+		} finally {
+			endBatch();
+		}
+	}
+
+	/**
+	 * Sets the executor that computes the texts and images of the columns
+	 * whose label provider implements {@link IConcurrentLabelProvider}. If an
+	 * executor is set, the labels of all rows of a refresh are computed in
+	 * parallel before they are applied to the grid on the UI thread. The
+	 * default is <code>null</code>, which computes all labels on the UI
+	 * thread.
+	 *
+	 * @param executor
+	 *            the executor or <code>null</code>
+	 */
+	public void setLabelExecutor(Executor executor) {
+		labelExecutor = executor;
+	}
+
+	/**
+	 * @return the executor that computes concurrent labels or
+	 *         <code>null</code>
+	 * @see #setLabelExecutor(Executor)
+	 */
+	public Executor getLabelExecutor() {
+		return labelExecutor;
+	}
+
+	ConcurrentLabels getConcurrentLabels() {
+		return concurrentLabels;
+	}
+
+	private void computeConcurrentLabels(Object[] elements) {
+		if (labelExecutor != null && concurrentLabels == null) {
+			ColumnLabelProvider[] providers = GridViewerColumn
+					.getConcurrentLabelProviders(grid);
+			if (providers != null) {
+				concurrentLabels = ConcurrentLabels.compute(labelExecutor,
+						elements, providers);
+			}
+		}
+	}
+
+	private void beginBatch() {
+		batchDepth++;
+	}
+
+	private void endBatch() {
+		batchDepth--;
+		if (batchDepth == 0) {
+			concurrentLabels = null;
+		}
+		if (batchDepth == 0 && packPending) {
+			packPending = false;
+			// packing an item invalidates the item height of the whole grid,
+			// hence one pack after all rows are updated is sufficient
+			if (grid.getItemCount() > 0) {
+				grid.getItem(0).pack();
+			}
+		}
 	}
 
 	private void updateRowHeader(Widget widget) {
@@ -360,13 +583,48 @@ public class GridTableViewer extends AbstractTableViewer {
 	 *            be refreshed
 	 */
 	public void refreshRowHeaders(Object element) {
-		boolean refresh = element == null;
+		int start = 0;
+		if (element != null) {
+			// uses the element map if hash lookup is enabled
+			Widget item = findItem(element);
+			start = item instanceof GridItem ? grid.indexOf((GridItem) item) : -1;
+		}
+		if (start != -1) {
+			int count = grid.getItemCount();
+			for (int i = start; i < count; i++) {
+				updateRowHeader(grid.getItem(i));
+			}
+		}
+	}
 
-		GridItem[] items = getGrid().getItems();
-		for (int i = 0; i < items.length; i++) {
-			if (refresh || element.equals(items[i].getData())) {
-				refresh = true;
-				updateRowHeader(items[i]);
+	/**
+	 * Refreshes the rows between the given zero-relative start and end
+	 * indices (inclusive). Other than {@link #refresh()} only the given range
+	 * is cleared. On a grid with the <code>SWT.VIRTUAL</code> style the
+	 * elements of the cleared rows are requested again from the
+	 * {@link ILazyContentProvider} or the cached input when the rows become
+	 * visible, otherwise the labels of the rows are updated right away.
+	 *
+	 * @param start
+	 *            the index of the first row to refresh
+	 * @param end
+	 *            the index of the last row to refresh
+	 */
+	public void refresh(int start, int end) {
+		if (checkBusy())
+			return;
+		int first = Math.max(0, start);
+		int last = Math.min(end, grid.getItemCount() - 1);
+		if (first <= last) {
+			if ((grid.getStyle() & SWT.VIRTUAL) != 0) {
+				grid.clear(first, last, false);
+			} else {
+				for (int i = first; i <= last; i++) {
+					GridItem item = grid.getItem(i);
+					if (item.getData() != null) {
+						updateItem(item, item.getData());
+					}
+				}
 			}
 		}
 	}
@@ -406,13 +664,10 @@ public class GridTableViewer extends AbstractTableViewer {
 			if( selection instanceof SelectionWithFocusRow ) {
 				Object el = ((SelectionWithFocusRow)selection).getFocusElement();
 				if( el != null ) {
-					GridItem[] items = grid.getItems();
-					for( int i = 0; i < items.length; i++) {
-						GridItem item = items[i];
-						if( item.getData() == el || item.getData().equals(el) || (getComparer() != null && getComparer().equals(item.getData(), el)) ) {
-							grid.setFocusItem(item);
-							break;
-						}
+					// uses the element map if hash lookup is enabled
+					Widget item = findItem(el);
+					if( item instanceof GridItem ) {
+						grid.setFocusItem((GridItem) item);
 					}
 				}
 			}
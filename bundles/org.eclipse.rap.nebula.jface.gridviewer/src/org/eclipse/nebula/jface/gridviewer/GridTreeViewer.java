@@ -11,20 +11,26 @@
  *******************************************************************************/ 
 package org.eclipse.nebula.jface.gridviewer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.CellLabelProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
 import org.eclipse.jface.viewers.ColumnViewerEditor;
 import org.eclipse.jface.viewers.ColumnViewerEditorActivationStrategy;
+import org.eclipse.jface.viewers.IContentProvider;
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreePath;
 import org.eclipse.jface.viewers.TreeSelection;
 import org.eclipse.jface.viewers.ViewerCell;
 import org.eclipse.jface.viewers.ViewerRow;
+import org.eclipse.nebula.jface.gridviewer.internal.ConcurrentLabels;
 import org.eclipse.nebula.widgets.grid.Grid;
 import org.eclipse.nebula.widgets.grid.GridItem;
 import org.eclipse.swt.SWT;
@@ -32,7 +38,9 @@ import org.eclipse.swt.events.TreeListener;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Item;
+import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.swt.widgets.Widget;
@@ -46,8 +54,11 @@ import org.eclipse.swt.widgets.Widget;
  * filter (optional), and element sorter (optional).
  * <p>
  * Content providers for grid tree viewers must implement the
- * {@link ITreeContentProvider} interface.
- * <p><b>The current implementation does not support lazy content providers.</b></p>
+ * {@link ITreeContentProvider} interface, or the {@link ILazyTreeContentProvider}
+ * interface if the grid was created with the <code>SWT.VIRTUAL</code> style.
+ * A lazy content provider is asked for the elements of the visible items only
+ * and reports them with {@link #replace(Object, int, Object)},
+ * {@link #setChildCount(Object, int)} and {@link #setHasChildren(Object, boolean)}.
  */
 public class GridTreeViewer extends AbstractTreeViewer {
 	
@@ -61,9 +72,22 @@ public class GridTreeViewer extends AbstractTreeViewer {
 	 * rows / GridItems are always sized to their preferred height.
 	 */
 	private boolean autoPreferredHeight = false;
+
+	/** The nesting depth of refreshes and updates that defer packing. */
+	private int batchDepth;
+
+	/** True if a row has to be packed when the outermost batch ends. */
+	private boolean packPending;
+
+	private Executor labelExecutor;
+
+	/** The labels computed in parallel for the current batch. */
+	private ConcurrentLabels concurrentLabels;
 	
 	private CellLabelProvider rowHeaderLabelProvider;
 
+	private boolean contentProviderIsLazy;
+
 
 	/**
      * Creates a grid tree viewer on a newly-created grid control under the given
@@ -116,6 +140,253 @@ public class GridTreeViewer extends AbstractTreeViewer {
 		return grid;
 	}
 	
+	/** {@inheritDoc} */
+	protected void hookControl(Control control) {
+		super.hookControl(control);
+		if ((control.getStyle() & SWT.VIRTUAL) != 0) {
+			control.addListener(SWT.SetData, new Listener() {
+				public void handleEvent(Event event) {
+					if (contentProviderIsLazy) {
+						GridItem item = (GridItem) event.item;
+						GridItem parentItem = item.getParentItem();
+						Object parent = parentItem == null ? getInput() : parentItem.getData();
+						// the parent item may not have been materialized yet
+						if (parent != null) {
+							getLazyContentProvider().updateElement(parent, event.index);
+						}
+					}
+				}
+			});
+		}
+	}
+
+	/** {@inheritDoc} */
+	public void setContentProvider(IContentProvider provider) {
+		contentProviderIsLazy = provider instanceof ILazyTreeContentProvider;
+		super.setContentProvider(provider);
+	}
+
+	/** {@inheritDoc} */
+	protected void assertContentProviderType(IContentProvider provider) {
+		if (provider instanceof ILazyTreeContentProvider) {
+			return;
+		}
+		super.assertContentProviderType(provider);
+	}
+
+	/** {@inheritDoc} */
+	protected void internalInitializeTree(Control widget) {
+		if (contentProviderIsLazy) {
+			if (getInput() != null) {
+				getLazyContentProvider().updateChildCount(getInput(), 0);
+			}
+			return;
+		}
+		super.internalInitializeTree(widget);
+	}
+
+	/** {@inheritDoc} */
+	protected void createChildren(Widget widget) {
+		if (contentProviderIsLazy) {
+			Object element = widget.getData();
+			Item[] children = getChildren(widget);
+			// a single child without data is the dummy that shows the expand
+			// button of an element whose children have not been counted yet
+			if (element != null && children.length == 1
+					&& children[0].getData() == null) {
+				getLazyContentProvider().updateChildCount(element, 1);
+			}
+			return;
+		}
+		super.createChildren(widget);
+	}
+
+	/** {@inheritDoc} */
+	protected void internalRefresh(Object element, boolean updateLabels) {
+		if (contentProviderIsLazy) {
+			virtualRefresh(element);
+			return;
+		}
+		beginBatch();
+		try {
+			if (updateLabels && labelExecutor != null) {
+				computeConcurrentLabels(getItemElements(element));
+			}
+			super.internalRefresh(element, updateLabels);
+		} finally {
+			endBatch();
+		}
+	}
+
+	/**
+	 * Sets the number of children of the given element or tree path. To set
+	 * the number of children of the invisible root of the tree, the input
+	 * element or an empty tree path can be passed. The new child items are
+	 * empty until their elements are requested from the
+	 * {@link ILazyTreeContentProvider} when they become visible.
+	 * <p>
+	 * This method should only be called by implementors of
+	 * {@link ILazyTreeContentProvider}.
+	 * </p>
+	 *
+	 * @param elementOrTreePath
+	 *            the element, input element, or tree path
+	 * @param count
+	 *            the number of children
+	 */
+	public void setChildCount(Object elementOrTreePath, int count) {
+		if (checkBusy())
+			return;
+		if (internalIsInputOrEmptyPath(elementOrTreePath)) {
+			setRootItemCount(count);
+		} else {
+			Widget[] items = internalFindItems(elementOrTreePath);
+			for (int i = 0; i < items.length; i++) {
+				GridItem item = (GridItem) items[i];
+				if (!item.isDisposed()) {
+					disassociateChildItems(item, count);
+					item.setItemCount(count);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets whether the given element or tree path has children. An element
+	 * with children gets a single dummy child that makes it expandable, its
+	 * children are counted with
+	 * {@link ILazyTreeContentProvider#updateChildCount(Object, int)} when it is
+	 * expanded.
+	 * <p>
+	 * This method should only be called by implementors of
+	 * {@link ILazyTreeContentProvider}.
+	 * </p>
+	 *
+	 * @param elementOrTreePath
+	 *            the element or tree path
+	 * @param hasChildren
+	 *            whether the element has children
+	 */
+	public void setHasChildren(Object elementOrTreePath, boolean hasChildren) {
+		if (checkBusy())
+			return;
+		if (internalIsInputOrEmptyPath(elementOrTreePath)) {
+			if (!hasChildren) {
+				setRootItemCount(0);
+			}
+		} else {
+			Widget[] items = internalFindItems(elementOrTreePath);
+			for (int i = 0; i < items.length; i++) {
+				GridItem item = (GridItem) items[i];
+				if (!item.isDisposed()) {
+					if (!hasChildren) {
+						disassociateChildItems(item, 0);
+						item.setItemCount(0);
+					} else if (item.getItemCount() == 0) {
+						item.setItemCount(1);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replaces the element at the given index of the given parent with the
+	 * given element and updates the labels of its item. To replace a root
+	 * element, the input element or an empty tree path can be passed as the
+	 * parent.
+	 * <p>
+	 * This method should only be called by implementors of
+	 * {@link ILazyTreeContentProvider}, typically from
+	 * {@link ILazyTreeContentProvider#updateElement(Object, int)}.
+	 * </p>
+	 *
+	 * @param parentElementOrTreePath
+	 *            the parent element, the input element, or a tree path to the
+	 *            parent element
+	 * @param index
+	 *            the child index
+	 * @param element
+	 *            the new element
+	 */
+	public void replace(Object parentElementOrTreePath, int index,
+			Object element) {
+		if (checkBusy())
+			return;
+		if (internalIsInputOrEmptyPath(parentElementOrTreePath)) {
+			if (index < grid.getRootItemCount()) {
+				replaceItem(grid.getRootItem(index), element);
+			}
+		} else {
+			Widget[] parentItems = internalFindItems(parentElementOrTreePath);
+			for (int i = 0; i < parentItems.length; i++) {
+				GridItem parentItem = (GridItem) parentItems[i];
+				if (!parentItem.isDisposed()
+						&& index < parentItem.getItemCount()) {
+					replaceItem(parentItem.getItem(index), element);
+				}
+			}
+		}
+	}
+
+	private void replaceItem(GridItem item, Object element) {
+		Object oldElement = item.getData();
+		if (oldElement != null && !equals(oldElement, element)) {
+			// the children belong to the old element
+			disassociateChildItems(item, 0);
+			item.setItemCount(0);
+		}
+		updateItem(item, element);
+	}
+
+	private void setRootItemCount(int count) {
+		int itemCount = Math.max(0, count);
+		while (grid.getRootItemCount() > itemCount) {
+			GridItem item = grid.getRootItem(grid.getRootItemCount() - 1);
+			if (item.getData() != null) {
+				disassociate(item);
+			}
+			item.dispose();
+		}
+		while (grid.getRootItemCount() < itemCount) {
+			new GridItem(grid, SWT.NONE);
+		}
+	}
+
+	// removes the elements of the children from the index on from the element map
+	private void disassociateChildItems(GridItem item, int start) {
+		for (int i = start; i < item.getItemCount(); i++) {
+			GridItem child = item.getItem(i);
+			if (child.getData() != null) {
+				disassociate(child);
+			}
+		}
+	}
+
+	private void virtualRefresh(Object element) {
+		if (element == null || equals(element, getRoot())) {
+			grid.clearAll(true);
+			if (getInput() != null) {
+				getLazyContentProvider().updateChildCount(getInput(),
+						grid.getRootItemCount());
+			}
+		} else {
+			Widget[] items = internalFindItems(element);
+			for (int i = 0; i < items.length; i++) {
+				GridItem item = (GridItem) items[i];
+				if (!item.isDisposed()) {
+					grid.clear(grid.indexOf(item), true);
+					getLazyContentProvider().updateChildCount(element,
+							item.getItemCount());
+				}
+			}
+		}
+	}
+
+	private ILazyTreeContentProvider getLazyContentProvider() {
+		return (ILazyTreeContentProvider) getContentProvider();
+	}
+
 	/** {@inheritDoc} */
 	protected Item getItemAt(Point point) {
 		return grid.getItem(point);
@@ -324,8 +595,97 @@ public class GridTreeViewer extends AbstractTreeViewer {
 	protected void doUpdateItem(final Item item, Object element) {
 		super.doUpdateItem(item, element);
 		updateRowHeader(item);
-		if(autoPreferredHeight && !item.isDisposed())
-			((GridItem)item).pack();
+		if(autoPreferredHeight && !item.isDisposed()) {
+			if (batchDepth > 0) {
+				packPending = true;
+			} else {
+				((GridItem)item).pack();
+			}
+		}
+	}
+
+	/** {@inheritDoc} */
+	public void update(Object[] elements, String[] properties) {
+		beginBatch();
+		try {
+			computeConcurrentLabels(elements);
+			super.update(elements, properties);
+		} finally {
+			endBatch();
+		}
+	}
+
+	/**
+	 * Sets the executor that computes the texts and images of the columns
+	 * whose label provider implements {@link IConcurrentLabelProvider}. If an
+	 * executor is set, the labels of all rows of a refresh are computed in
+	 * parallel before they are applied to the grid on the UI thread. The
+	 * default is <code>null</code>, which computes all labels on the UI
+	 * thread.
+	 *
+	 * @param executor
+	 *            the executor or <code>null</code>
+	 */
+	public void setLabelExecutor(Executor executor) {
+		labelExecutor = executor;
+	}
+
+	/**
+	 * @return the executor that computes concurrent labels or
+	 *         <code>null</code>
+	 * @see #setLabelExecutor(Executor)
+	 */
+	public Executor getLabelExecutor() {
+		return labelExecutor;
+	}
+
+	ConcurrentLabels getConcurrentLabels() {
+		return concurrentLabels;
+	}
+
+	private void computeConcurrentLabels(Object[] elements) {
+		if (labelExecutor != null && concurrentLabels == null) {
+			ColumnLabelProvider[] providers = GridViewerColumn
+					.getConcurrentLabelProviders(grid);
+			if (providers != null) {
+				concurrentLabels = ConcurrentLabels.compute(labelExecutor,
+						elements, providers);
+			}
+		}
+	}
+
+	// the elements of the items that a refresh of the given element updates
+	private Object[] getItemElements(Object element) {
+		List elements = new ArrayList();
+		if (element == null || equals(element, getRoot())) {
+			int count = grid.getItemCount();
+			for (int i = 0; i < count; i++) {
+				Object data = grid.getItem(i).getData();
+				if (data != null) {
+					elements.add(data);
+				}
+			}
+		}
+		return elements.toArray();
+	}
+
+	private void beginBatch() {
+		batchDepth++;
+	}
+
+	private void endBatch() {
+		batchDepth--;
+		if (batchDepth == 0) {
+			concurrentLabels = null;
+		}
+		if (batchDepth == 0 && packPending) {
+			packPending = false;
+			// packing an item invalidates the item height of the whole grid,
+			// hence one pack after all rows are updated is sufficient
+			if (grid.getItemCount() > 0) {
+				grid.getItem(0).pack();
+			}
+		}
 	}
 	
 	/**
@@ -13,9 +13,12 @@
 
 package org.eclipse.nebula.jface.gridviewer;
 
+import org.eclipse.jface.viewers.CellLabelProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
 import org.eclipse.jface.viewers.ColumnViewer;
 import org.eclipse.jface.viewers.EditingSupport;
 import org.eclipse.jface.viewers.ViewerColumn;
+import org.eclipse.nebula.jface.gridviewer.internal.ConcurrentLabels;
 import org.eclipse.nebula.widgets.grid.Grid;
 import org.eclipse.nebula.widgets.grid.GridColumn;
 import org.eclipse.nebula.widgets.grid.GridItem;
@@ -28,6 +31,9 @@ import org.eclipse.swt.widgets.Listener;
  */
 public final class GridViewerColumn extends ViewerColumn
 {
+    /** The key of the viewer column in the data of the grid column. */
+    private static final String VIEWER_COLUMN_KEY = GridViewerColumn.class.getName();
+
     /** This is either a GridTableViewer or a GridTreeViewer. */
     private ColumnViewer viewer;
 
@@ -40,6 +46,9 @@ public final class GridViewerColumn extends ViewerColumn
     /** Listener used to get informed when the colum resizes */
     protected Listener columnResizeListener = null;
 
+    /** The label provider if it is an {@link IConcurrentLabelProvider}. */
+    private ColumnLabelProvider concurrentLabelProvider;
+
 
     /**
      * Create a new column in the {@link GridTableViewer}
@@ -132,6 +141,7 @@ public final class GridViewerColumn extends ViewerColumn
     	super(viewer, column);
     	this.viewer = viewer;
         this.column = column;
+        column.setData(VIEWER_COLUMN_KEY, this);
         hookColumnResizeListener();
     }
 
@@ -187,6 +197,61 @@ public final class GridViewerColumn extends ViewerColumn
     }
 
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A {@link ColumnLabelProvider} that implements
+     * {@link IConcurrentLabelProvider} is wrapped, so that the labels the
+     * viewer has computed in parallel are applied to the cells.
+     * </p>
+     */
+    @Override
+    public void setLabelProvider(CellLabelProvider labelProvider)
+    {
+        if (labelProvider instanceof IConcurrentLabelProvider
+            && labelProvider instanceof ColumnLabelProvider)
+        {
+            concurrentLabelProvider = (ColumnLabelProvider)labelProvider;
+            super.setLabelProvider(new ConcurrentLabelProviderAdapter(this, concurrentLabelProvider));
+        }
+        else
+        {
+            concurrentLabelProvider = null;
+            super.setLabelProvider(labelProvider);
+        }
+    }
+
+    ConcurrentLabels getConcurrentLabels()
+    {
+        ConcurrentLabels result = null;
+        if (viewer instanceof GridTableViewer)
+            result = ((GridTableViewer)viewer).getConcurrentLabels();
+        if (viewer instanceof GridTreeViewer)
+            result = ((GridTreeViewer)viewer).getConcurrentLabels();
+        return result;
+    }
+
+    /**
+     * Returns the concurrent label provider of each column of the grid or
+     * <code>null</code> if no column has one.
+     */
+    static ColumnLabelProvider[] getConcurrentLabelProviders(Grid grid)
+    {
+        int columnCount = grid.getColumnCount();
+        ColumnLabelProvider[] result = new ColumnLabelProvider[columnCount];
+        boolean found = false;
+        for (int i = 0; i < columnCount; i++)
+        {
+            Object data = grid.getColumn(i).getData(VIEWER_COLUMN_KEY);
+            if (data instanceof GridViewerColumn)
+            {
+                result[i] = ((GridViewerColumn)data).concurrentLabelProvider;
+                found |= result[i] != null;
+            }
+        }
+        return found ? result : null;
+    }
+
     private void hookColumnResizeListener() {
         if (columnResizeListener == null)
         {
@@ -14,11 +14,15 @@
 package org.eclipse.nebula.jface.gridviewer;
 
 import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.jface.viewers.ViewerCell;
 import org.eclipse.jface.viewers.ViewerRow;
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.nebula.widgets.grid.GridColumn;
 import org.eclipse.nebula.widgets.grid.GridItem;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Widget;
@@ -49,10 +53,11 @@ public class GridViewerRow extends ViewerRow
     		//TODO Provide implementation for GridItem
     		return null;
     	} else {
-    		if( ! item.getParent().getColumn(columnIndex).isVisible() ) {
+    		Grid grid = item.getParent();
+    		if( ! grid.getColumn(columnIndex).isVisible() ) {
     			return new Rectangle(0,0,0,0);
     		} else {
-    			return item.getBounds(columnIndex);
+    			return grid.getCellBounds(item, columnIndex);
     		}
 
     	}
@@ -74,6 +79,41 @@ public class GridViewerRow extends ViewerRow
         return item.getParent().getColumnCount();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The column is found with {@link Grid#getColumn(Point)}, only the
+     * bounds of the cell in that column are computed.
+     * </p>
+     */
+    @Override
+    public ViewerCell getCell(Point point)
+    {
+        Grid grid = item.getParent();
+        ViewerCell cell = null;
+        if (grid.getColumnCount() == 0)
+        {
+            // getBounds() requires a column, the row is found by the grid
+            if (grid.getItem(point) == item)
+            {
+                cell = getCell(0);
+            }
+        }
+        else
+        {
+            GridColumn column = grid.getColumn(point);
+            if (column != null)
+            {
+                int columnIndex = grid.indexOf(column);
+                if (getBounds(columnIndex).contains(point))
+                {
+                    cell = getCell(columnIndex);
+                }
+            }
+        }
+        return cell;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Color getBackground(int columnIndex)
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.nebula.jface.gridviewer;
+
+import java.util.concurrent.Executor;
+
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+
+/**
+ * A marker interface for the {@link ColumnLabelProvider} of a
+ * {@link GridViewerColumn} whose {@link ColumnLabelProvider#getText(Object)}
+ * and {@link ColumnLabelProvider#getImage(Object)} methods have no side
+ * effects and can be called from several threads at once.
+ * <p>
+ * If an executor has been set with
+ * {@link GridTableViewer#setLabelExecutor(Executor)} or
+ * {@link GridTreeViewer#setLabelExecutor(Executor)}, the texts and images of
+ * such a label provider are computed in parallel for all rows of a refresh
+ * and then applied to the items on the UI thread. The label provider runs in
+ * the context of the UI session, hence <code>RWT.getLocale()</code> can be
+ * used to format numbers and dates, but it must not access any widget.
+ * Colors and fonts are always requested on the UI thread.
+ * </p>
+ * <p>
+ * The computed labels are applied to the cells directly, an overridden
+ * {@link ColumnLabelProvider#update(org.eclipse.jface.viewers.ViewerCell)} is
+ * not called for these cells. The UI thread waits at most five seconds for
+ * the executor, rows that have not been computed by then are computed on the
+ * UI thread or updated through the label provider as usual.
+ * </p>
+ */
+public interface IConcurrentLabelProvider {
+}
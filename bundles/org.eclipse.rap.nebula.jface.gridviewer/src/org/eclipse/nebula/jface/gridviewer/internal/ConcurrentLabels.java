@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.nebula.jface.gridviewer.internal;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.ViewerCell;
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.swt.graphics.Image;
+
+/**
+ * The texts and images of a batch of elements, computed in parallel by the
+ * concurrent label providers of the columns. The computation is split into
+ * chunks of rows that are passed to an executor, the results are applied to
+ * the cells on the UI thread.
+ * <p>
+ * The UI thread waits at most {@link #TIMEOUT} milliseconds for the executor.
+ * Chunks that have not been started by then or that have been rejected by the
+ * executor are computed on the UI thread. The rows of chunks that are still
+ * running are left to their label providers.
+ * </p>
+ */
+public class ConcurrentLabels {
+
+	/** The number of rows computed by one task. */
+	public static final int CHUNK_SIZE = 256;
+
+	/** The time in milliseconds the UI thread waits for the executor. */
+	public static final long TIMEOUT = 5000;
+
+	private static final int PENDING = 0;
+	private static final int RUNNING = 1;
+	private static final int DONE = 2;
+	private static final int ABANDONED = 3;
+
+	private final Object[] elements;
+	private final ColumnLabelProvider[] providers;
+	private final String[] texts;
+	private final Image[] images;
+	private final boolean[] computed;
+	private final Map<Object, Integer> rows;
+	// the state of each chunk, a chunk is claimed by the thread that changes
+	// it from PENDING to RUNNING, its results are used once it is DONE
+	private final AtomicIntegerArray states;
+
+	/**
+	 * Computes the labels of the given elements. Returns <code>null</code> if
+	 * there are too few elements to be worth a parallel computation.
+	 *
+	 * @param executor
+	 *            the executor that runs the tasks
+	 * @param elements
+	 *            the elements of the rows
+	 * @param providers
+	 *            the label provider of each column or <code>null</code> for
+	 *            columns whose labels are computed on the UI thread
+	 * @return the labels or <code>null</code>
+	 */
+	public static ConcurrentLabels compute(Executor executor, Object[] elements,
+			ColumnLabelProvider[] providers) {
+		ConcurrentLabels result = null;
+		if (elements.length > CHUNK_SIZE) {
+			result = new ConcurrentLabels(elements, providers);
+			result.computeAll(executor);
+		}
+		return result;
+	}
+
+	private ConcurrentLabels(Object[] elements, ColumnLabelProvider[] providers) {
+		this.elements = elements;
+		this.providers = providers;
+		texts = new String[elements.length * providers.length];
+		images = new Image[elements.length * providers.length];
+		computed = new boolean[elements.length];
+		states = new AtomicIntegerArray((elements.length + CHUNK_SIZE - 1)
+				/ CHUNK_SIZE);
+		rows = new IdentityHashMap<Object, Integer>(elements.length);
+		for (int i = 0; i < elements.length; i++) {
+			rows.put(elements[i], Integer.valueOf(i));
+		}
+	}
+
+	/**
+	 * Updates the text, image, colors and font of the given cell if its labels
+	 * have been computed. The colors and font are requested from the label
+	 * provider.
+	 *
+	 * @param cell
+	 *            the cell to update
+	 * @return <code>true</code> if the cell has been updated,
+	 *         <code>false</code> if it has to be updated by its label provider
+	 */
+	public boolean update(ViewerCell cell) {
+		boolean result = false;
+		Object element = cell.getElement();
+		int column = cell.getColumnIndex();
+		Integer row = rows.get(element);
+		if (row != null && column < providers.length && providers[column] != null
+				&& states.get(row.intValue() / CHUNK_SIZE) == DONE
+				&& computed[row.intValue()]) {
+			ColumnLabelProvider provider = providers[column];
+			int index = row.intValue() * providers.length + column;
+			cell.setText(texts[index]);
+			cell.setImage(images[index]);
+			cell.setBackground(provider.getBackground(element));
+			cell.setForeground(provider.getForeground(element));
+			cell.setFont(provider.getFont(element));
+			result = true;
+		}
+		return result;
+	}
+
+	private void computeAll(Executor executor) {
+		int chunkCount = states.length();
+		final CountDownLatch latch = new CountDownLatch(chunkCount);
+		// gives the label providers access to the locale and other session
+		// scoped values
+		final UISession uiSession = RWT.getUISession();
+		for (int i = 0; i < chunkCount; i++) {
+			final int chunk = i;
+			Runnable task = new Runnable() {
+				public void run() {
+					try {
+						uiSession.exec(new Runnable() {
+							public void run() {
+								computeChunk(chunk, false);
+							}
+						});
+					} finally {
+						latch.countDown();
+					}
+				}
+			};
+			try {
+				executor.execute(task);
+			} catch (RejectedExecutionException exception) {
+				latch.countDown();
+				computeChunk(chunk, true);
+			}
+		}
+		try {
+			latch.await(TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+		for (int i = 0; i < chunkCount; i++) {
+			if (!states.compareAndSet(i, RUNNING, ABANDONED)) {
+				computeChunk(i, true);
+			}
+		}
+	}
+
+	// computes the chunk unless another thread has claimed it, the results of
+	// a worker are dropped if the UI thread has abandoned the chunk meanwhile
+	private void computeChunk(int chunk, boolean uiThread) {
+		if (states.compareAndSet(chunk, PENDING, RUNNING)) {
+			int start = chunk * CHUNK_SIZE;
+			computeRows(start, Math.min(start + CHUNK_SIZE, elements.length));
+			if (uiThread) {
+				states.set(chunk, DONE);
+			} else {
+				states.compareAndSet(chunk, RUNNING, DONE);
+			}
+		}
+	}
+
+	private void computeRows(int start, int end) {
+		int columnCount = providers.length;
+		for (int row = start; row < end; row++) {
+			try {
+				for (int column = 0; column < columnCount; column++) {
+					ColumnLabelProvider provider = providers[column];
+					if (provider != null) {
+						int index = row * columnCount + column;
+						texts[index] = provider.getText(elements[row]);
+						images[index] = provider.getImage(elements[row]);
+					}
+				}
+				computed[row] = true;
+			} catch (RuntimeException exception) {
+				// the row is updated on the UI thread, where the exception is
+				// reported as usual
+			}
+		}
+	}
+
+}
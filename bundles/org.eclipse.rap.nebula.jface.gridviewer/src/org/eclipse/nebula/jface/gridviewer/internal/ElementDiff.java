@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.nebula.jface.gridviewer.internal;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import org.eclipse.jface.viewers.IElementComparer;
+
+/**
+ * The difference between an old and a new list of elements. Each new element
+ * is matched with an equal old element, if there is one. Of the matched
+ * elements, the longest run that keeps its relative order is stable, all other
+ * matched elements have to be moved. Old elements without a match have to be
+ * removed, new elements without a match have to be inserted.
+ * <p>
+ * Elements are compared with the given comparer or with equals and hashCode
+ * if the comparer is <code>null</code>. Duplicate elements are matched in
+ * order.
+ * </p>
+ */
+public class ElementDiff {
+
+	private final int[] oldIndices;
+	private final boolean[] kept;
+	private final boolean[] stable;
+
+	/**
+	 * Computes the difference between the given lists.
+	 *
+	 * @param oldElements
+	 *            the old elements, <code>null</code> entries never match
+	 * @param newElements
+	 *            the new elements
+	 * @param comparer
+	 *            the comparer or <code>null</code>
+	 */
+	public ElementDiff(Object[] oldElements, Object[] newElements,
+			IElementComparer comparer) {
+		oldIndices = new int[newElements.length];
+		kept = new boolean[oldElements.length];
+		stable = new boolean[newElements.length];
+		match(oldElements, newElements, comparer);
+		markStable();
+	}
+
+	/**
+	 * @param newIndex
+	 *            the index of a new element
+	 * @return the index of the matching old element or -1 if the element has
+	 *         to be inserted
+	 */
+	public int getOldIndex(int newIndex) {
+		return oldIndices[newIndex];
+	}
+
+	/**
+	 * @param oldIndex
+	 *            the index of an old element
+	 * @return <code>true</code> if the old element has a match,
+	 *         <code>false</code> if it has to be removed
+	 */
+	public boolean isKept(int oldIndex) {
+		return kept[oldIndex];
+	}
+
+	/**
+	 * @param newIndex
+	 *            the index of a new element
+	 * @return <code>true</code> if the element has a match that keeps its
+	 *         position relative to the other stable elements
+	 */
+	public boolean isStable(int newIndex) {
+		return stable[newIndex];
+	}
+
+	private void match(Object[] oldElements, Object[] newElements,
+			IElementComparer comparer) {
+		Map<Key, LinkedList<Integer>> positions = new HashMap<Key, LinkedList<Integer>>();
+		for (int i = 0; i < oldElements.length; i++) {
+			if (oldElements[i] != null) {
+				Key key = new Key(oldElements[i], comparer);
+				LinkedList<Integer> list = positions.get(key);
+				if (list == null) {
+					list = new LinkedList<Integer>();
+					positions.put(key, list);
+				}
+				list.add(Integer.valueOf(i));
+			}
+		}
+		for (int i = 0; i < newElements.length; i++) {
+			oldIndices[i] = -1;
+			LinkedList<Integer> list = positions.get(new Key(newElements[i], comparer));
+			if (list != null && !list.isEmpty()) {
+				oldIndices[i] = list.removeFirst().intValue();
+				kept[oldIndices[i]] = true;
+			}
+		}
+	}
+
+	// marks the longest increasing subsequence of old indices, O(n log n)
+	private void markStable() {
+		int count = oldIndices.length;
+		int[] tails = new int[count];
+		int[] predecessors = new int[count];
+		int length = 0;
+		for (int i = 0; i < count; i++) {
+			if (oldIndices[i] != -1) {
+				int low = 0;
+				int high = length;
+				while (low < high) {
+					int middle = (low + high) >>> 1;
+					if (oldIndices[tails[middle]] < oldIndices[i]) {
+						low = middle + 1;
+					} else {
+						high = middle;
+					}
+				}
+				predecessors[i] = low > 0 ? tails[low - 1] : -1;
+				tails[low] = i;
+				length = Math.max(length, low + 1);
+			}
+		}
+		int index = length > 0 ? tails[length - 1] : -1;
+		while (index != -1) {
+			stable[index] = true;
+			index = predecessors[index];
+		}
+	}
+
+	private static final class Key {
+
+		private final Object element;
+		private final IElementComparer comparer;
+		private final int hashCode;
+
+		Key(Object element, IElementComparer comparer) {
+			this.element = element;
+			this.comparer = comparer;
+			hashCode = comparer == null ? element.hashCode() : comparer.hashCode(element);
+		}
+
+		public int hashCode() {
+			return hashCode;
+		}
+
+		public boolean equals(Object object) {
+			boolean result = false;
+			if (object instanceof Key) {
+				Object other = ((Key) object).element;
+				result = comparer == null ? element.equals(other) : comparer.equals(element, other);
+			}
+			return result;
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/**
+ * <p>
+ * NOTE:  THIS WIDGET AND ITS API ARE STILL UNDER DEVELOPMENT.  THIS IS A PRE-RELEASE ALPHA
+ * VERSION.  USERS SHOULD EXPECT API CHANGES IN FUTURE VERSIONS.
+ * </p>
+ * Collects cell texts that are passed to {@link Grid#applyCellUpdates(CellUpdateBatch)}. A
+ * cell is addressed by its item and the index of its column, or by the zero-relative index of
+ * its item in the flat list of items, as returned by {@link Grid#getItem(int)}. Repeated
+ * updates of the same cell are coalesced, only the last text is kept.
+ * <p>
+ * Item indices are resolved when the updates are applied, not when they are added. If the
+ * order of the items may change in the meantime, e.g. by sorting, filtering or moving items,
+ * the cells should be addressed by their items.
+ * </p>
+ * <p>
+ * This class is thread-safe, a batch can be filled from any thread.
+ * </p>
+ *
+ * @see Grid#applyCellUpdates(CellUpdateBatch)
+ */
+@SuppressWarnings( "restriction" )
+public final class CellUpdateBatch implements SerializableCompatibility {
+
+  private final Map<Object, String> texts;
+  private int coalescedCount;
+
+  public CellUpdateBatch() {
+    texts = new LinkedHashMap<Object, String>();
+  }
+
+  /**
+   * Sets the text of a cell. Replaces the text of a previous update of the same cell in this
+   * batch. The index of the item is resolved when the update is applied.
+   *
+   * @param row the zero-relative index of the item
+   * @param column the zero-relative index of the column
+   * @param text the new text
+   *
+   * @exception IllegalArgumentException <ul>
+   *    <li>ERROR_NULL_ARGUMENT - if the text is null</li>
+   *    <li>ERROR_INVALID_RANGE - if the row or the column is negative</li>
+   * </ul>
+   */
+  public void setText( int row, int column, String text ) {
+    if( text == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    if( row < 0 || column < 0 ) {
+      SWT.error( SWT.ERROR_INVALID_RANGE );
+    }
+    put( toKey( row, column ), text );
+  }
+
+  /**
+   * Sets the text of a cell of the given item. Replaces the text of a previous update of the
+   * same cell in this batch. The update is skipped if the item is disposed or doesn't belong
+   * to the grid when the update is applied.
+   *
+   * @param item the item
+   * @param column the zero-relative index of the column
+   * @param text the new text
+   *
+   * @exception IllegalArgumentException <ul>
+   *    <li>ERROR_NULL_ARGUMENT - if the item or the text is null</li>
+   *    <li>ERROR_INVALID_RANGE - if the column is negative</li>
+   * </ul>
+   */
+  public void setText( GridItem item, int column, String text ) {
+    if( item == null || text == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    if( column < 0 ) {
+      SWT.error( SWT.ERROR_INVALID_RANGE );
+    }
+    put( new ItemCell( item, column ), text );
+  }
+
+  /**
+   * Returns the number of cells in this batch.
+   */
+  public synchronized int size() {
+    return texts.size();
+  }
+
+  /**
+   * Returns <code>true</code> if this batch contains no cells.
+   */
+  public synchronized boolean isEmpty() {
+    return texts.isEmpty();
+  }
+
+  /**
+   * Returns the number of updates that were replaced by a later update of the same cell.
+   */
+  public synchronized int getCoalescedCount() {
+    return coalescedCount;
+  }
+
+  // moves all cells into the target, the target has to be a different batch
+  void drainTo( CellUpdateBatch target ) {
+    synchronized( this ) {
+      synchronized( target ) {
+        for( Entry<Object, String> entry : texts.entrySet() ) {
+          if( target.texts.put( entry.getKey(), entry.getValue() ) != null ) {
+            target.coalescedCount++;
+          }
+        }
+        target.coalescedCount += coalescedCount;
+        texts.clear();
+        coalescedCount = 0;
+      }
+    }
+  }
+
+  // returns the number of cells that were applied, cells of items or columns that don't
+  // exist (anymore) are skipped. Item indices are resolved against the current order.
+  int applyTo( Grid grid ) {
+    int result = 0;
+    int itemCount = grid.getItemCount();
+    int columnCount = Math.max( 1, grid.getColumnCount() );
+    synchronized( this ) {
+      for( Entry<Object, String> entry : texts.entrySet() ) {
+        GridItem item;
+        int column;
+        if( entry.getKey() instanceof ItemCell ) {
+          ItemCell cell = ( ItemCell )entry.getKey();
+          item = cell.item.isDisposed() || cell.item.getParent() != grid ? null : cell.item;
+          column = cell.column;
+        } else {
+          long key = ( ( Long )entry.getKey() ).longValue();
+          int row = ( int )( key >>> 32 );
+          item = row < itemCount ? grid.getItem( row ) : null;
+          column = ( int )key;
+        }
+        if( item != null && column < columnCount ) {
+          item.setText( column, entry.getValue() );
+          result++;
+        }
+      }
+    }
+    return result;
+  }
+
+  private synchronized void put( Object key, String text ) {
+    if( texts.put( key, text ) != null ) {
+      coalescedCount++;
+    }
+  }
+
+  private static Long toKey( int row, int column ) {
+    return Long.valueOf( ( ( long )row << 32 ) | column );
+  }
+
+  private static final class ItemCell implements SerializableCompatibility {
+
+    private final GridItem item;
+    private final int column;
+
+    ItemCell( GridItem item, int column ) {
+      this.item = item;
+      this.column = column;
+    }
+
+    @Override
+    public boolean equals( Object object ) {
+      boolean result = false;
+      if( object instanceof ItemCell ) {
+        ItemCell other = ( ItemCell )object;
+        result = item == other.item && column == other.column;
+      }
+      return result;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode( item ) + column;
+    }
+
+  }
+
+}
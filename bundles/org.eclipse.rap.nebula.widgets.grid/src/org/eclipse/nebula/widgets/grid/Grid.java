@@ -13,15 +13,19 @@ package org.eclipse.nebula.widgets.grid;
 import static org.eclipse.swt.internal.widgets.MarkupUtil.isMarkupEnabledFor;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
+import org.eclipse.nebula.widgets.grid.internal.ColumnSlotMap;
 import org.eclipse.nebula.widgets.grid.internal.IGridAdapter;
 import org.eclipse.nebula.widgets.grid.internal.IScrollBarProxy;
 import org.eclipse.nebula.widgets.grid.internal.NullScrollBarProxy;
 import org.eclipse.nebula.widgets.grid.internal.ScrollBarProxyAdapter;
 import org.eclipse.nebula.widgets.grid.internal.gridkit.GridThemeAdapter;
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
 import org.eclipse.rap.rwt.internal.textsize.TextSizeUtil;
 import org.eclipse.rap.rwt.internal.theme.IThemeAdapter;
 import org.eclipse.swt.SWT;
@@ -65,6 +69,8 @@ public class Grid extends Composite {
 
   private static final int MIN_ITEM_HEIGHT = 16;
   private static final int GRID_WIDTH = 1;
+  private static final long SLOW_CELL_UPDATE_LAG = 50;
+  private static final long MAX_CELL_UPDATE_INTERVAL = 2000;
 
   private List<GridItem> items = new ArrayList<GridItem>();
   private List<GridItem> rootItems = new ArrayList<GridItem>();
@@ -73,13 +79,23 @@ public class Grid extends Composite {
   private List<GridColumn> columns = new ArrayList<GridColumn>();
   private List<GridColumn> displayOrderedColumns = new ArrayList<GridColumn>();
   private List<GridColumnGroup> columnGroups = new ArrayList<GridColumnGroup>();
+  private ColumnSlotMap columnSlots = new ColumnSlotMap();
+  private List<GridItem> filteredOutItems = new ArrayList<GridItem>();
   private GridItem focusItem;
+  private IGridItemFilter filter;
+  private int filteredItemCount;
+  private int filteredRootItemCount;
+  private boolean filteredIndicesObsolete;
   private boolean isTree;
   private boolean disposing;
   private boolean columnHeadersVisible;
   private boolean columnFootersVisible;
   private boolean linesVisible = true;
   private boolean autoHeight;
+  private boolean columnVirtualizationEnabled;
+  private boolean splitContainerRendered;
+  private int frozenColumnCount;
+  private boolean[] renderedColumns;
   private int currentVisibleItems;
   private int selectionType = SWT.SINGLE;
   private boolean selectionEnabled = true;
@@ -93,11 +109,32 @@ public class Grid extends Composite {
   private IScrollBarProxy vScroll;
   private IScrollBarProxy hScroll;
   private boolean scrollValuesObsolete;
+  private boolean redrawScheduled;
+  private int coalescedRedrawCount;
   private int topIndex = -1;
   private int bottomIndex = -1;
+  private int topRow = -1;
+  private int bottomRow = -1;
   private boolean bottomIndexShownCompletely;
+  private int clientAreaWidth = -1;
+  private int clientAreaHeight;
+  private int[] visibleRows;
+  private int[] visibleRowOffsets;
+  private int visibleRowCount = -1;
+  private int visibleRowOffsetsItemHeight;
+  private int[] columnLefts;
+  private int[] columnPositions;
   private final IGridAdapter gridAdapter;
   private transient CompositeItemHolder itemHolder;
+  private GridMetrics metrics;
+  private final CellUpdateBatch pendingCellUpdates = new CellUpdateBatch();
+  private boolean cellUpdatesScheduled;
+  private int cellUpdateInterval = 100;
+  private long effectiveCellUpdateInterval = 100;
+  // guarded by pendingCellUpdates
+  private long lastCellUpdateTime;
+  private long cellUpdateDueTime;
+  private Clock clock = new SystemClock();
   boolean hasDifferingHeights;
   LayoutCache layoutCache;
 
@@ -304,7 +341,7 @@ public class Grid extends Composite {
     while( itemCount > items.size() ) {
       new GridItem( this, null, SWT.NONE, -1 );
     }
-    redraw();
+    requestRedraw();
   }
 
   /**
@@ -392,31 +429,95 @@ public class Grid extends Composite {
     if( point == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
-    GridItem result = null;
-    if( point.x >= 0 && point.x <= getClientArea().width ) {
-      Point p = new Point( point.x, point.y );
-      int y = 0;
-      if( columnHeadersVisible ) {
-        y += getHeaderHeight();
-      }
-      if( p.y > y ) {
-        int row = getTopIndex();
-        while( row < items.size() && y <= getClientArea().height && result == null ) {
-          GridItem currentItem = items.get( row );
-          if( currentItem.isVisible() ) {
-            int currentItemHeight = currentItem.getHeight();
-            if( p.y >= y && p.y < y + currentItemHeight ) {
-              result = currentItem;
-            }
-            y += currentItemHeight;
-          }
-          row++;
-        }
+    int index = getItemIndex( point );
+    return index == -1 ? null : items.get( index );
+  }
+
+  /**
+   * Returns the cell at the given point in the receiver or null if no such
+   * cell exists. The cell is returned as a point whose x coordinate is the
+   * index of the column and whose y coordinate is the index of the item, as
+   * returned by {@link #getItem(int)}. The point is in the coordinate system
+   * of the receiver.
+   *
+   * @param point the point used to locate the cell
+   * @return the cell at the given point
+   * @throws IllegalArgumentException
+   * <ul>
+   * <li>ERROR_NULL_ARGUMENT - if the point is null</li>
+   * </ul>
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   */
+  public Point getCell( Point point ) {
+    checkWidget();
+    if( point == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    Point result = null;
+    int itemIndex = getItemIndex( point );
+    if( itemIndex != -1 ) {
+      GridColumn column = getColumnAt( point.x );
+      if( column != null ) {
+        result = new Point( columns.indexOf( column ), itemIndex );
       }
     }
     return result;
   }
 
+  /**
+   * Returns a rectangle describing the location and size of the cell of the
+   * given item at the given column, relative to the receiver. If the item is
+   * not shown, the returned rectangle is located outside of the receiver and
+   * has a size of zero.
+   * <p>
+   * The bounds are computed from cached row offsets and column positions,
+   * they are cheap enough to lay out editors on every scroll event.
+   * </p>
+   *
+   * @param item the item
+   * @param columnIndex the zero-relative index of the column
+   * @return the bounds of the cell
+   * @throws IllegalArgumentException
+   * <ul>
+   * <li>ERROR_NULL_ARGUMENT - if the item is null</li>
+   * <li>ERROR_INVALID_ARGUMENT - if the item is disposed or not contained in
+   * the receiver</li>
+   * <li>ERROR_INVALID_RANGE - if the item is shown and the column index is not
+   * between 0 and the number of columns minus 1 (inclusive)</li>
+   * </ul>
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   *
+   * @see GridItem#getBounds(int)
+   */
+  public Rectangle getCellBounds( GridItem item, int columnIndex ) {
+    checkWidget();
+    if( item == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    if( item.isDisposed() || item.getParent() != this ) {
+      SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    }
+    // [if] -1000 is used in the original implementation
+    Rectangle result = new Rectangle( -1000, -1000, 0, 0 );
+    if( item.isVisible() && isShown( item ) ) {
+      GridColumn column = getColumn( columnIndex );
+      int x = getColumnX( column );
+      int y = getRowY( getVisibleRow( item ) );
+      result = new Rectangle( x, y, column.getWidth(), item.internalGetHeight() );
+    }
+    return result;
+  }
+
   /**
    * Searches the receiver's list starting at the first item (index 0) until
    * an item is found that is equal to the argument, and returns the index of
@@ -440,7 +541,7 @@ public class Grid extends Composite {
     if( item == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
-    return item.getParent() == this ? items.indexOf( item ) : -1;
+    return item.getParent() == this ? internalIndexOf( item ) : -1;
   }
 
   /**
@@ -633,6 +734,32 @@ public class Grid extends Composite {
     return columns.get( index );
   }
 
+  /**
+   * Returns the column at the given point in the receiver or null if no such
+   * column exists. Only the x coordinate of the point is considered, the
+   * point is in the coordinate system of the receiver.
+   *
+   * @param point the point used to locate the column
+   * @return the column at the given point
+   * @throws IllegalArgumentException
+   * <ul>
+   * <li>ERROR_NULL_ARGUMENT - if the point is null</li>
+   * </ul>
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   */
+  public GridColumn getColumn( Point point ) {
+    checkWidget();
+    if( point == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    return getColumnAt( point.x );
+  }
+
   /**
    * Searches the receiver's list starting at the first column (index 0) until
    * a column is found that is equal to the argument, and returns the index of
@@ -723,6 +850,7 @@ public class Grid extends Composite {
     for( int i = 0; i < order.length; i++ ) {
       displayOrderedColumns.add( columns[ order[ i ] ] );
     }
+    invalidateColumnLefts();
     for( int i = 0; i < order.length; i++ ) {
       if( oldOrder[ i ] != order[ i ] ) {
         columns[ order[ i ] ].fireMoved();
@@ -918,7 +1046,7 @@ public class Grid extends Composite {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
     items.get( index ).clear( allChildren );
-    redraw();
+    requestRedraw();
   }
 
   /**
@@ -953,7 +1081,7 @@ public class Grid extends Composite {
       for( int i = start; i <= end; i++ ) {
         items.get( i ).clear( allChildren );
       }
-      redraw();
+      requestRedraw();
     }
   }
 
@@ -993,7 +1121,7 @@ public class Grid extends Composite {
       for( int i = 0; i < indices.length; i++ ) {
         items.get( indices[ i ] ).clear( allChildren );
       }
-      redraw();
+      requestRedraw();
     }
   }
 
@@ -1027,6 +1155,148 @@ public class Grid extends Composite {
     }
   }
 
+  /**
+   * Applies the cell texts of the given batch to the items of the receiver. The batch is
+   * drained, it can be filled and passed again afterwards.
+   * <p>
+   * This method can be called from any thread. The texts are applied on the UI thread, at most
+   * once per cell update interval. Updates that arrive in the meantime are merged with the
+   * pending updates, and only the last text of each cell is applied. Item indices are
+   * resolved when the texts are applied, i.e. after any sorting or moving of items in the
+   * meantime; cells that are addressed by their items are not affected by such changes.
+   * Updates of items or columns that don't exist when the texts are applied are skipped.
+   * To send updates from a background thread to the client, a <code>ServerPushSession</code>
+   * has to be active.
+   * </p>
+   *
+   * @param batch the cell updates to apply
+   *
+   * @exception IllegalArgumentException <ul>
+   *    <li>ERROR_NULL_ARGUMENT - if the batch is null</li>
+   * </ul>
+   * @exception org.eclipse.swt.SWTException <ul>
+   *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * </ul>
+   *
+   * @see #setCellUpdateInterval(int)
+   */
+  public void applyCellUpdates( CellUpdateBatch batch ) {
+    if( batch == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    if( batch == pendingCellUpdates ) {
+      SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    }
+    boolean schedule;
+    synchronized( pendingCellUpdates ) {
+      batch.drainTo( pendingCellUpdates );
+      schedule = !cellUpdatesScheduled && !pendingCellUpdates.isEmpty();
+      if( schedule ) {
+        cellUpdatesScheduled = true;
+        cellUpdateDueTime = clock.currentTimeMillis();
+      }
+    }
+    if( schedule ) {
+      getDisplay().asyncExec( new Runnable() {
+        public void run() {
+          flushCellUpdates();
+        }
+      } );
+    }
+  }
+
+  /**
+   * Sets the minimal time between two applications of the updates that are passed to
+   * {@link #applyCellUpdates(CellUpdateBatch)}, which limits the rate at which the updates are
+   * pushed to the client. The default is 100 milliseconds, i.e. at most 10 updates per second.
+   * <p>
+   * If the updates are applied later than planned, which happens when the client is slow to
+   * answer the push requests, the interval is doubled, up to 2 seconds. It returns to the
+   * given interval as the client catches up.
+   * </p>
+   *
+   * @param interval the interval in milliseconds, 0 to apply the updates as soon as possible
+   *
+   * @exception IllegalArgumentException <ul>
+   *    <li>ERROR_INVALID_ARGUMENT - if the interval is negative</li>
+   * </ul>
+   * @exception org.eclipse.swt.SWTException <ul>
+   *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+   * </ul>
+   */
+  public void setCellUpdateInterval( int interval ) {
+    checkWidget();
+    if( interval < 0 ) {
+      SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    }
+    cellUpdateInterval = interval;
+    effectiveCellUpdateInterval = interval;
+  }
+
+  /**
+   * Returns the minimal time in milliseconds between two applications of cell updates.
+   *
+   * @return the interval in milliseconds
+   *
+   * @exception org.eclipse.swt.SWTException <ul>
+   *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+   * </ul>
+   *
+   * @see #applyCellUpdates(CellUpdateBatch)
+   */
+  public int getCellUpdateInterval() {
+    checkWidget();
+    return cellUpdateInterval;
+  }
+
+  private void flushCellUpdates() {
+    if( !isDisposed() ) {
+      long now = clock.currentTimeMillis();
+      long delay;
+      CellUpdateBatch updates = null;
+      synchronized( pendingCellUpdates ) {
+        adaptCellUpdateInterval( now - cellUpdateDueTime );
+        delay = lastCellUpdateTime + effectiveCellUpdateInterval - now;
+        if( delay > 0 ) {
+          cellUpdateDueTime = now + delay;
+        } else {
+          updates = new CellUpdateBatch();
+          pendingCellUpdates.drainTo( updates );
+          cellUpdatesScheduled = false;
+          lastCellUpdateTime = now;
+        }
+      }
+      if( updates == null ) {
+        getDisplay().timerExec( ( int )delay, new Runnable() {
+          public void run() {
+            flushCellUpdates();
+          }
+        } );
+      } else {
+        int appliedCount = updates.applyTo( this );
+        GridMetrics metrics = getEnabledMetrics();
+        if( metrics != null ) {
+          metrics.cellUpdatesFlushed( appliedCount,
+                                      updates.getCoalescedCount(),
+                                      updates.size() - appliedCount,
+                                      effectiveCellUpdateInterval );
+        }
+      }
+    }
+  }
+
+  // a flush that runs late indicates that the client is slow to answer the push requests
+  private void adaptCellUpdateInterval( long lag ) {
+    if( lag > Math.max( effectiveCellUpdateInterval, SLOW_CELL_UPDATE_LAG ) ) {
+      long interval = Math.max( 2 * effectiveCellUpdateInterval, lag );
+      effectiveCellUpdateInterval = Math.min( interval, MAX_CELL_UPDATE_INTERVAL );
+    } else if( effectiveCellUpdateInterval > cellUpdateInterval ) {
+      effectiveCellUpdateInterval = Math.max( effectiveCellUpdateInterval / 2, cellUpdateInterval );
+    }
+  }
+
   /**
    * Enables selection highlighting if the argument is <code>true</code>.
    *
@@ -1744,6 +2014,156 @@ public class Grid extends Composite {
     }
   }
 
+  /**
+   * Sorts the items of the receiver according to the order induced by the given comparator.
+   * The root items and the children of every item are sorted independently, hence the tree
+   * structure is preserved. The items are reordered in place, which means that the selection,
+   * the focus item and all item attributes are retained and no item is disposed or recreated.
+   * <p>
+   * The sort is stable: items that are equal according to the comparator keep their relative
+   * order. A sort by multiple columns can therefore be done either with a single comparator
+   * that compares all keys or by sorting with the least significant key first.
+   * </p>
+   *
+   * @param comparator the comparator that determines the order of the items
+   * @throws IllegalArgumentException
+   * <ul>
+   * <li>ERROR_NULL_ARGUMENT - if the comparator is null</li>
+   * </ul>
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   */
+  public void sort( Comparator<? super GridItem> comparator ) {
+    checkWidget();
+    if( comparator == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    if( items.size() > 1 ) {
+      Collections.sort( rootItems, comparator );
+      adjustItemIndices( 0 );
+      if( isTree ) {
+        for( GridItem item : items ) {
+          item.sortChildren( comparator );
+        }
+      }
+      rebuildFlatItems();
+      scheduleRedraw();
+    }
+  }
+
+  /**
+   * Reorders the root items of the receiver according to the given permutation. The root item
+   * that is currently at index <code>permutation[ i ]</code> is moved to index <code>i</code>.
+   * Children are moved together with their parent item. The items are reordered in place, which
+   * means that the selection, the focus item and all item attributes are retained and no item is
+   * disposed or recreated.
+   *
+   * @param permutation the current indices of the root items in their new order
+   * @throws IllegalArgumentException
+   * <ul>
+   * <li>ERROR_NULL_ARGUMENT - if the permutation is null</li>
+   * <li>ERROR_INVALID_ARGUMENT - if the permutation length does not match the number of root
+   * items or if it contains an index that is out of range or that occurs more than once</li>
+   * </ul>
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   * @see GridItem#moveTo(int)
+   */
+  public void reorder( int[] permutation ) {
+    checkWidget();
+    if( permutation == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    int count = rootItems.size();
+    if( permutation.length != count ) {
+      SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    }
+    boolean[] used = new boolean[ count ];
+    for( int i = 0; i < count; i++ ) {
+      int index = permutation[ i ];
+      if( index < 0 || index >= count || used[ index ] ) {
+        SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+      }
+      used[ index ] = true;
+    }
+    GridItem[] oldRootItems = rootItems.toArray( new GridItem[ count ] );
+    for( int i = 0; i < count; i++ ) {
+      GridItem item = oldRootItems[ permutation[ i ] ];
+      rootItems.set( i, item );
+      item.index = i;
+    }
+    if( isTree ) {
+      rebuildFlatItems();
+    } else {
+      // without children the flat list and the root items are the same
+      for( int i = 0; i < count; i++ ) {
+        items.set( i, rootItems.get( i ) );
+      }
+      filteredIndicesObsolete = true;
+    }
+    scheduleRedraw();
+  }
+
+  /**
+   * Sets the filter that decides which items of the receiver are shown. Items that are rejected
+   * by the filter are hidden together with all their children, but they are not disposed. Hidden
+   * items are removed from the selection.
+   * <p>
+   * All items are evaluated when the filter is set. Afterwards an item is evaluated again
+   * whenever its text, image or checked state changes. Setting the same filter again forces
+   * the evaluation of all items. If the receiver was created with the <code>SWT.VIRTUAL</code>
+   * style, items that have not been resolved yet are shown until their data is set.
+   * </p>
+   *
+   * @param filter the filter or <code>null</code> to show all items
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   */
+  public void setFilter( IGridItemFilter filter ) {
+    checkWidget();
+    this.filter = filter;
+    boolean hidden = false;
+    for( GridItem item : items ) {
+      if( filter == null ) {
+        updateFiltered( item, false );
+      } else if( item.isResolved() ) {
+        hidden |= updateFiltered( item, !filter.select( item ) );
+      }
+    }
+    if( hidden ) {
+      deselectHiddenItems();
+    }
+  }
+
+  /**
+   * Returns the filter that decides which items of the receiver are shown.
+   *
+   * @return the filter or <code>null</code> if all items are shown
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   * @see #setFilter(IGridItemFilter)
+   */
+  public IGridItemFilter getFilter() {
+    checkWidget();
+    return filter;
+  }
+
   /**
    * Marks the receiver's header as visible if the argument is {@code true},
    * and marks it invisible otherwise.
@@ -2034,15 +2454,10 @@ public class Grid extends Composite {
       updateScrollBars();
       GridItem item = items.get( index );
       if( item.isVisible() && vScroll.getVisible() ) {
-        int vScrollAmount = 0;
-        for( int i = 0; i < index; i++ ) {
-          if( items.get( i ).isVisible() ) {
-            vScrollAmount++;
-          }
-        }
-        vScroll.setSelection( vScrollAmount );
+        updateVisibleRows();
+        vScroll.setSelection( findVisibleRow( index ) );
         invalidateTopBottomIndex();
-        redraw();
+        requestRedraw();
       }
     }
   }
@@ -2067,16 +2482,9 @@ public class Grid extends Composite {
       if( vScroll.getVisible() ) {
         int firstVisibleIndex = vScroll.getSelection();
         if( isTree ) {
-          Iterator<GridItem> iterator = items.iterator();
-          int row = firstVisibleIndex + 1;
-          while( row > 0 && iterator.hasNext() ) {
-            GridItem item = iterator.next();
-            if( item.isVisible() ) {
-              row--;
-              if( row == 0 ) {
-                firstVisibleIndex = items.indexOf( item );
-              }
-            }
+          updateVisibleRows();
+          if( firstVisibleIndex < visibleRowCount ) {
+            firstVisibleIndex = visibleRows[ firstVisibleIndex ];
           }
         }
         topIndex = firstVisibleIndex;
@@ -2160,12 +2568,15 @@ public class Grid extends Composite {
           group.notifyListeners( SWT.Collapse, new Event() );
         }
       }
-      if( hScroll.getVisible() ) {
+      if( hScroll.getVisible() && !isFrozenColumn( column ) ) {
+        // the frozen columns cover the left part of the client area
+        int frozenWidth = getFrozenColumnsWidth();
         int offset = hScroll.getSelection();
-        int x = getColumnHeaderXPosition( column );
-        if( x < 0 || x + column.getWidth() > getClientArea().width ) {
-          if( x >= 0 && column.getWidth() <= getClientArea().width ) {
-            x -= getClientArea().width - column.getWidth();
+        int x = getColumnHeaderXPosition( column ) - frozenWidth;
+        int width = getClientArea().width - frozenWidth;
+        if( x < 0 || x + column.getWidth() > width ) {
+          if( x >= 0 && column.getWidth() <= width ) {
+            x -= width - column.getWidth();
           }
           hScroll.setSelection( offset + x );
         }
@@ -2234,6 +2645,89 @@ public class Grid extends Composite {
     return autoHeight;
   }
 
+  /**
+   * Sets the number of columns, in display order, that are frozen at the left side of the
+   * grid. Frozen columns do not scroll horizontally, the other columns scroll independently
+   * in the remaining area.
+   * <p>
+   * The client creates the separate area for the frozen columns only when the grid is first
+   * rendered. Hence frozen columns must be set before the grid is first rendered. If the grid
+   * has been rendered without frozen columns, the count can't be changed to a positive value
+   * anymore.
+   * </p>
+   *
+   * @param count the number of frozen columns, 0 (default) for no frozen columns
+   * @throws IllegalArgumentException
+   * <ul>
+   * <li>ERROR_INVALID_ARGUMENT - if the count is negative, or if it is greater than zero
+   * and the grid has been rendered without frozen columns</li>
+   * </ul>
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   */
+  public void setFrozenColumnCount( int count ) {
+    checkWidget();
+    if( count < 0 || count > 0 && !splitContainerRendered && isRendered() ) {
+      SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    }
+    if( frozenColumnCount != count ) {
+      frozenColumnCount = count;
+      scheduleRedraw();
+    }
+  }
+
+  // the area for frozen columns is only created together with the client widget
+  private boolean isRendered() {
+    return WidgetUtil.getAdapter( this ).isInitialized();
+  }
+
+  /**
+   * Returns the number of columns, in display order, that are frozen at the left side of the
+   * grid.
+   *
+   * @return the number of frozen columns
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the receiver</li>
+   * </ul>
+   * @see #setFrozenColumnCount(int)
+   */
+  public int getFrozenColumnCount() {
+    checkWidget();
+    return frozenColumnCount;
+  }
+
+  /**
+   * Sets the value of the column virtualization feature. When enabled, the cell values of an
+   * item are only rendered to the client for the columns that are horizontally visible or
+   * within one page of the visible area. The values of further columns are rendered when the
+   * user scrolls horizontally. This reduces the amount of data that is transferred for grids
+   * with many columns. The cells of frozen columns are always rendered.
+   *
+   * @param enabled Set to true to enable this feature, false (default) otherwise.
+   */
+  public void setColumnVirtualizationEnabled( boolean enabled ) {
+    checkWidget();
+    columnVirtualizationEnabled = enabled;
+  }
+
+  /**
+   * Returns the value of the column virtualization feature.
+   *
+   * @return Returns whether or not the column virtualization feature is enabled.
+   * @see #setColumnVirtualizationEnabled(boolean)
+   */
+  public boolean isColumnVirtualizationEnabled() {
+    checkWidget();
+    return columnVirtualizationEnabled;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> T getAdapter( Class<T> adapter ) {
@@ -2247,6 +2741,11 @@ public class Grid extends Composite {
       result = ( T )gridAdapter;
     } else if( adapter == ICellToolTipAdapter.class ) {
       result = ( T )gridAdapter;
+    } else if( adapter == GridMetrics.class ) {
+      if( metrics == null ) {
+        metrics = new GridMetrics( this, selectedItems );
+      }
+      result = ( T )metrics;
     } else {
       result = super.getAdapter( adapter );
     }
@@ -2295,6 +2794,7 @@ public class Grid extends Composite {
       row = flatIndex;
     }
     updateVisibleItems( 1 );
+    filteredIndicesObsolete = true;
     scheduleRedraw();
     return row;
   }
@@ -2314,10 +2814,73 @@ public class Grid extends Composite {
       if( item.isVisible() ) {
         updateVisibleItems( -1 );
       }
+      if( item.isFiltered() ) {
+        filteredItemCount--;
+      }
+      filteredIndicesObsolete = true;
       scheduleRedraw();
     }
   }
 
+  void filterItem( GridItem item ) {
+    if( filter != null && updateFiltered( item, !filter.select( item ) ) ) {
+      deselectHiddenItems();
+    }
+  }
+
+  // returns true if the item has been hidden, the caller has to deselect the hidden items once
+  // it has updated all items
+  private boolean updateFiltered( GridItem item, boolean filtered ) {
+    boolean result = false;
+    if( item.isFiltered() != filtered ) {
+      item.setFiltered( filtered );
+      filteredItemCount += filtered ? 1 : -1;
+      if( filtered ) {
+        filteredOutItems.add( item );
+        result = true;
+      }
+      filteredIndicesObsolete = true;
+      scheduleRedraw();
+    }
+    return result;
+  }
+
+  private void deselectHiddenItems() {
+    Iterator<GridItem> iterator = selectedItems.iterator();
+    while( iterator.hasNext() ) {
+      if( iterator.next().isHiddenByFilter() ) {
+        iterator.remove();
+      }
+    }
+    if( focusItem != null && focusItem.isHiddenByFilter() ) {
+      focusItem = null;
+    }
+  }
+
+  private void updateFilteredIndices() {
+    if( filteredIndicesObsolete ) {
+      filteredRootItemCount = 0;
+      for( GridItem item : rootItems ) {
+        if( !item.isFiltered() ) {
+          item.filteredIndex = filteredRootItemCount++;
+          item.updateFilteredIndices();
+        }
+      }
+      filteredIndicesObsolete = false;
+    }
+  }
+
+  private GridItem[] getAndResetFilteredOutItems() {
+    List<GridItem> result = new ArrayList<GridItem>();
+    for( GridItem item : filteredOutItems ) {
+      if( !item.isDisposed() && item.isHiddenByFilter() ) {
+        result.add( item );
+      }
+    }
+    filteredOutItems.clear();
+    return result.toArray( new GridItem[ result.size() ] );
+  }
+
   void newRootItem( GridItem item, int index ) {
     if( index == -1 || index >= rootItems.size() ) {
       rootItems.add( item );
@@ -2334,6 +2897,58 @@ public class Grid extends Composite {
     adjustItemIndices( index );
   }
 
+  void moveRootItem( GridItem item, int index ) {
+    moveItem( item, rootItems, index );
+  }
+
+  void moveItem( GridItem item, List<GridItem> siblings, int index ) {
+    if( index < 0 || index >= siblings.size() ) {
+      SWT.error( SWT.ERROR_INVALID_RANGE );
+    }
+    int oldIndex = item.index;
+    if( index != oldIndex ) {
+      // an item and its descendants form a contiguous block in the flat list, the block is
+      // rotated past the blocks of the siblings between the old and the new index
+      int start = isTree ? items.indexOf( item ) : oldIndex;
+      int blockSize = item.getFlatItemCount();
+      if( index < oldIndex ) {
+        int offset = 0;
+        for( int i = index; i < oldIndex; i++ ) {
+          offset += siblings.get( i ).getFlatItemCount();
+        }
+        Collections.rotate( items.subList( start - offset, start + blockSize ), blockSize );
+        Collections.rotate( siblings.subList( index, oldIndex + 1 ), 1 );
+        adjustItemIndices( siblings, index, oldIndex );
+      } else {
+        int offset = 0;
+        for( int i = oldIndex + 1; i <= index; i++ ) {
+          offset += siblings.get( i ).getFlatItemCount();
+        }
+        Collections.rotate( items.subList( start, start + blockSize + offset ), -blockSize );
+        Collections.rotate( siblings.subList( oldIndex, index + 1 ), -1 );
+        adjustItemIndices( siblings, oldIndex, index );
+      }
+      filteredIndicesObsolete = true;
+      scheduleRedraw();
+    }
+  }
+
+  private static void adjustItemIndices( List<GridItem> siblings, int start, int end ) {
+    for( int i = start; i <= end; i++ ) {
+      siblings.get( i ).index = i;
+    }
+  }
+
+  void rebuildFlatItems() {
+    List<GridItem> result = new ArrayList<GridItem>( items.size() );
+    for( GridItem rootItem : rootItems ) {
+      rootItem.collectItems( result );
+    }
+    items = result;
+    filteredIndicesObsolete = true;
+    invalidateVisibleRows();
+  }
+
   private void adjustItemIndices( int start ) {
     for( int i = start; i < rootItems.size(); i++ ) {
       rootItems.get( i ).index = i;
@@ -2349,9 +2964,7 @@ public class Grid extends Composite {
       displayOrderedColumns.add( index, column );
     }
     updatePrimaryCheckColumn();
-    for( GridItem item : items ) {
-      item.columnAdded( index );
-    }
+    columnSlots.columnAdded( index );
     if( column.isCheck() ) {
       layoutCache.invalidateItemHeight();
     }
@@ -2366,8 +2979,9 @@ public class Grid extends Composite {
     columns.remove( index );
     displayOrderedColumns.remove( column );
     updatePrimaryCheckColumn();
-    for( GridItem item : items ) {
-      item.columnRemoved( index );
+    columnSlots.columnRemoved( index );
+    if( columnSlots.needsCompaction() ) {
+      compactColumnSlots();
     }
     if( column.isCheck() ) {
       layoutCache.invalidateItemHeight();
@@ -2377,6 +2991,22 @@ public class Grid extends Composite {
     scheduleRedraw();
   }
 
+  int getColumnSlot( int index ) {
+    return columnSlots.getSlot( index );
+  }
+
+  int getColumnSlotCount() {
+    return columnSlots.getSlotCount();
+  }
+
+  private void compactColumnSlots() {
+    int[] newSlots = columnSlots.compact();
+    int slotCount = columnSlots.getSlotCount();
+    for( GridItem item : items ) {
+      item.columnSlotsCompacted( newSlots, slotCount );
+    }
+  }
+
   void newColumnGroup( GridColumnGroup group ) {
     columnGroups.add( group );
     if( columnGroups.size() == 1 ) {
@@ -2399,6 +3029,7 @@ public class Grid extends Composite {
 
   void updateVisibleItems( int amount ) {
     currentVisibleItems += amount;
+    invalidateVisibleRows();
   }
 
   GridColumn[] getColumnsInOrder() {
@@ -2418,7 +3049,7 @@ public class Grid extends Composite {
 
   int getMaxContentWidth( GridColumn column ) {
     doRedraw();
-    return getMaxInnerWidth( getRootItems(), columns.indexOf( column ) );
+    return getMaxInnerWidth( columns.indexOf( column ) );
   }
 
   int getBottomIndex() {
@@ -2440,53 +3071,241 @@ public class Grid extends Composite {
   }
 
   Point getOrigin( GridColumn column, GridItem item ) {
-    int x = column.getLeft() - hScroll.getSelection();
+    int x = getColumnX( column );
     int y = 0;
     if( item != null ) {
-      if( columnHeadersVisible ) {
-        y += getHeaderHeight();
+      y = getRowY( getVisibleRow( item ) );
+    }
+    return new Point( x, y );
+  }
+
+  // hit testing is called for every mouse event of a viewer, it must not allocate, hence it
+  // works on the cached client area and visible rows
+  private int getItemIndex( Point point ) {
+    int result = -1;
+    updateScrollBars();
+    int topRow = getTopRow();
+    updateVisibleRows();
+    updateClientArea();
+    if( point.x >= 0 && point.x <= clientAreaWidth ) {
+      int headerHeight = columnHeadersVisible ? getHeaderHeight() : 0;
+      if( point.y > headerHeight ) {
+        int offset = point.y - headerHeight;
+        int row;
+        int rowOffset;
+        if( hasDifferingHeights ) {
+          row = findRowAtOffset( visibleRowOffsets[ topRow ] + offset );
+          rowOffset = visibleRowOffsets[ row ] - visibleRowOffsets[ topRow ];
+        } else {
+          int itemHeight = getItemHeight();
+          row = topRow + offset / itemHeight;
+          rowOffset = ( row - topRow ) * itemHeight;
+        }
+        if( row < visibleRowCount && headerHeight + rowOffset <= clientAreaHeight ) {
+          result = visibleRows[ row ];
+        }
       }
-      int topIndex = getTopIndex();
-      int itemIndex = items.indexOf( item );
+    }
+    return result;
+  }
+
+  private GridColumn getColumnAt( int x ) {
+    GridColumn result = null;
+    updateScrollBars();
+    updateClientArea();
+    if( x >= 0 && x <= clientAreaWidth ) {
+      int frozenCount = Math.min( frozenColumnCount, displayOrderedColumns.size() );
+      int horizontalOffset = hScroll.getSelection();
+      int left = 0;
+      // frozen columns are always the first ones and cover the scrolled columns
+      for( int i = 0; i < displayOrderedColumns.size() && result == null; i++ ) {
+        GridColumn column = displayOrderedColumns.get( i );
+        if( column.isVisible() ) {
+          int columnX = i < frozenCount ? left : left - horizontalOffset;
+          if( x >= columnX && x < columnX + column.getWidth() ) {
+            result = column;
+          }
+          left += column.getWidth();
+        }
+      }
+    }
+    return result;
+  }
+
+  private void updateClientArea() {
+    if( clientAreaWidth == -1 ) {
+      Rectangle clientArea = getClientArea();
+      clientAreaWidth = clientArea.width;
+      clientAreaHeight = clientArea.height;
+    }
+  }
+
+  private void invalidateClientArea() {
+    clientAreaWidth = -1;
+  }
+
+  private void updateVisibleRows() {
+    int itemHeight = getItemHeight();
+    boolean offsetsObsolete = hasDifferingHeights && visibleRowOffsetsItemHeight != itemHeight;
+    if( visibleRowCount == -1 || offsetsObsolete ) {
+      int itemCount = items.size();
+      if( visibleRows == null || visibleRows.length < itemCount ) {
+        visibleRows = new int[ itemCount ];
+      }
+      int count = 0;
+      for( int i = 0; i < itemCount; i++ ) {
+        GridItem item = items.get( i );
+        if( item.isVisible() ) {
+          item.visibleRow = count;
+          visibleRows[ count++ ] = i;
+        }
+      }
+      visibleRowCount = count;
+      if( hasDifferingHeights ) {
+        if( visibleRowOffsets == null || visibleRowOffsets.length < count + 1 ) {
+          visibleRowOffsets = new int[ count + 1 ];
+        }
+        int offset = 0;
+        for( int i = 0; i < count; i++ ) {
+          visibleRowOffsets[ i ] = offset;
+          offset += items.get( visibleRows[ i ] ).internalGetHeight();
+        }
+        visibleRowOffsets[ count ] = offset;
+        visibleRowOffsetsItemHeight = itemHeight;
+      }
+    }
+  }
+
+  private void invalidateVisibleRows() {
+    visibleRowCount = -1;
+    topRow = -1;
+    bottomRow = -1;
+  }
+
+  // the positions of the top and bottom item in the visible rows
+  private int getTopRow() {
+    if( topRow == -1 ) {
+      int index = getTopIndex();
+      updateVisibleRows();
+      topRow = findVisibleRow( index );
+    }
+    return topRow;
+  }
+
+  private int getBottomRow() {
+    if( bottomRow == -1 ) {
+      int index = getBottomIndex();
+      updateVisibleRows();
+      bottomRow = findVisibleRow( index );
+    }
+    return bottomRow;
+  }
+
+  // returns the position of the given item in the visible rows or, if the item is not visible,
+  // the position of the next visible row
+  private int getVisibleRow( GridItem item ) {
+    updateVisibleRows();
+    int result = item.visibleRow;
+    if( result >= visibleRowCount || result < 0 || items.get( visibleRows[ result ] ) != item ) {
+      int itemIndex = internalIndexOf( item );
       if( itemIndex == -1 ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
       }
-      while( topIndex != itemIndex ) {
-        if( topIndex < itemIndex ) {
-          GridItem currentItem = items.get( topIndex );
-          if( currentItem.isVisible() ) {
-            y += currentItem.getHeight();
-          }
-          topIndex++;
-        } else if( topIndex > itemIndex ) {
-          topIndex--;
-          GridItem currentItem = items.get( topIndex );
-          if( currentItem.isVisible() ) {
-            y -= currentItem.getHeight();
-          }
+      result = findVisibleRow( itemIndex );
+    }
+    return result;
+  }
+
+  private int getRowY( int row ) {
+    int topRow = getTopRow();
+    updateVisibleRows();
+    int result = columnHeadersVisible ? getHeaderHeight() : 0;
+    if( hasDifferingHeights ) {
+      result += visibleRowOffsets[ row ] - visibleRowOffsets[ topRow ];
+    } else {
+      result += ( row - topRow ) * getItemHeight();
+    }
+    return result;
+  }
+
+  private int getColumnX( GridColumn column ) {
+    updateColumnLefts();
+    int index = columns.indexOf( column );
+    int result = columnLefts[ index ];
+    if( columnPositions[ index ] >= frozenColumnCount ) {
+      result -= hScroll.getSelection();
+    }
+    return result;
+  }
+
+  private void updateColumnLefts() {
+    if( columnLefts == null ) {
+      int columnCount = columns.size();
+      columnLefts = new int[ columnCount ];
+      columnPositions = new int[ columnCount ];
+      int left = 0;
+      for( int i = 0; i < columnCount; i++ ) {
+        GridColumn column = displayOrderedColumns.get( i );
+        int index = columns.indexOf( column );
+        columnLefts[ index ] = left;
+        columnPositions[ index ] = i;
+        if( column.isVisible() ) {
+          left += column.getWidth();
         }
       }
     }
-    return new Point( x, y );
+  }
+
+  void invalidateColumnLefts() {
+    columnLefts = null;
+  }
+
+  // returns the position of the given item index in the visible rows or, if the item is not
+  // visible, the position of the next visible row
+  private int findVisibleRow( int itemIndex ) {
+    int low = 0;
+    int high = visibleRowCount;
+    while( low < high ) {
+      int middle = ( low + high ) >>> 1;
+      if( visibleRows[ middle ] < itemIndex ) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  // returns the last visible row that starts at or before the given offset
+  private int findRowAtOffset( int offset ) {
+    int low = 0;
+    int high = visibleRowCount;
+    while( low < high ) {
+      int middle = ( low + high ) >>> 1;
+      if( visibleRowOffsets[ middle + 1 ] <= offset ) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
   }
 
   boolean isShown( GridItem item ) {
     checkWidget();
     boolean result = false;
     if( item.isVisible() ) {
-      int itemIndex = items.indexOf( item );
-      if( itemIndex == -1 ) {
-        SWT.error( SWT.ERROR_INVALID_ARGUMENT );
-      }
-      int firstVisibleIndex = getTopIndex();
-      int lastVisibleIndex = getBottomIndex();
-      result =    ( itemIndex >= firstVisibleIndex && itemIndex < lastVisibleIndex )
-               || ( itemIndex == lastVisibleIndex && bottomIndexShownCompletely );
+      int firstVisibleRow = getTopRow();
+      int lastVisibleRow = getBottomRow();
+      int row = getVisibleRow( item );
+      result =    ( row >= firstVisibleRow && row < lastVisibleRow )
+               || ( row == lastVisibleRow && bottomIndexShownCompletely );
     }
     return result;
   }
 
   private void doRedraw() {
+    redrawScheduled = false;
     if( isVirtual() ) {
       for( int index = getTopIndex(); index <= getBottomIndex(); index++ ) {
         GridItem item = items.get( index );
@@ -2500,10 +3319,10 @@ public class Grid extends Composite {
   }
 
   private GridItem[] getResolvedItems() {
-    if( isVirtual() ) {
+    if( isVirtual() || filteredItemCount > 0 ) {
       List<GridItem> resolvedItems = new ArrayList<GridItem>();
       for( GridItem item : items ) {
-        if( item.isResolved() ) {
+        if( item.isResolved() && ( filteredItemCount == 0 || !item.isHiddenByFilter() ) ) {
           resolvedItems.add( item );
         }
       }
@@ -2518,6 +3337,8 @@ public class Grid extends Composite {
 
   void updateScrollBars() {
     if( scrollValuesObsolete ) {
+      GridMetrics metrics = getEnabledMetrics();
+      long startTime = metrics != null ? metrics.updateScrollBarsTimer.start() : 0;
       Point preferredSize = getTableSize();
       Rectangle clientArea = getClientArea();
       for( int doublePass = 1; doublePass <= 2; doublePass++ ) {
@@ -2535,6 +3356,8 @@ public class Grid extends Composite {
         }
         clientArea = getClientArea();
       }
+      clientAreaWidth = clientArea.width;
+      clientAreaHeight = clientArea.height;
       if( vScroll.getVisible() ) {
         int max = currentVisibleItems;
         int thumb = 1;
@@ -2554,6 +3377,9 @@ public class Grid extends Composite {
         hScroll.setValues( selection, 0, preferredSize.x, clientArea.width, 5, clientArea.width );
       }
       scrollValuesObsolete = false;
+      if( metrics != null ) {
+        metrics.updateScrollBarsTimer.stop( startTime );
+      }
     }
   }
 
@@ -2583,6 +3409,7 @@ public class Grid extends Composite {
   }
 
   private void onResize() {
+    invalidateClientArea();
     if( TextSizeUtil.isTemporaryResize() ) {
       isTemporaryResize = true;
       layoutCache.invalidateHeaderHeight();
@@ -2616,6 +3443,31 @@ public class Grid extends Composite {
     }
   }
 
+  private void updateRenderedColumns() {
+    if( columnVirtualizationEnabled ) {
+      int width = getClientArea().width;
+      int windowLeft = hScroll.getSelection() - width;
+      int windowRight = hScroll.getSelection() + 2 * width;
+      updateColumnLefts();
+      renderedColumns = new boolean[ columns.size() ];
+      for( int i = 0; i < renderedColumns.length; i++ ) {
+        GridColumn column = columns.get( i );
+        if( column.isVisible() ) {
+          int left = columnLefts[ i ];
+          int right = left + column.getWidth();
+          renderedColumns[ i ] =    columnPositions[ i ] < frozenColumnCount
+                                 || right > windowLeft && left < windowRight;
+        }
+      }
+    } else {
+      renderedColumns = null;
+    }
+  }
+
+  private boolean isColumnRendered( int index ) {
+    return renderedColumns == null || index >= renderedColumns.length || renderedColumns[ index ];
+  }
+
   void setCellToolTipsEnabled( boolean enabled ) {
     setData( ICellToolTipProvider.ENABLE_CELL_TOOLTIP, Boolean.valueOf( enabled ) );
   }
@@ -2658,15 +3510,13 @@ public class Grid extends Composite {
     return getClientArea().height - headerHeight - footerHeight;
   }
 
-  private static int getMaxInnerWidth( GridItem[] items, int index ) {
+  private int getMaxInnerWidth( int index ) {
+    // An item is visible only if all its ancestors are expanded, therefore a single pass over
+    // the flat item list visits the same items as a recursive walk over the expanded subtrees
     int maxInnerWidth = 0;
     for( GridItem item : items ) {
-      if( item.isResolved() ) {
+      if( item.isVisible() && item.isResolved() ) {
         maxInnerWidth = Math.max( maxInnerWidth, item.getPreferredWidth( index ) );
-        if( item.isExpanded() ) {
-          int innerWidth = getMaxInnerWidth( item.getItems(), index );
-          maxInnerWidth = Math.max( maxInnerWidth, innerWidth );
-        }
       }
     }
     return maxInnerWidth;
@@ -2802,13 +3652,30 @@ public class Grid extends Composite {
   private int getColumnHeaderXPosition( GridColumn column ) {
     int result = -1;
     if( column.isVisible() ) {
-      result = column.getLeft() - hScroll.getSelection();
+      result = getColumnX( column );
+    }
+    return result;
+  }
+
+  boolean isFrozenColumn( GridColumn column ) {
+    return frozenColumnCount > 0 && displayOrderedColumns.indexOf( column ) < frozenColumnCount;
+  }
+
+  private int getFrozenColumnsWidth() {
+    int result = 0;
+    int count = Math.min( frozenColumnCount, displayOrderedColumns.size() );
+    for( int i = 0; i < count; i++ ) {
+      GridColumn column = displayOrderedColumns.get( i );
+      if( column.isVisible() ) {
+        result += column.getWidth();
+      }
     }
     return result;
   }
 
   private int getCellLeft( int index ) {
-    return getColumn( index ).getLeft();
+    updateColumnLefts();
+    return columnLefts[ index ];
   }
 
   private int getCellWidth( int index ) {
@@ -2918,7 +3785,9 @@ public class Grid extends Composite {
     boolean result = false;
     if( isTree ) {
       int columnCount = getColumnCount();
-      result = columnCount == 0 && index == 0 || columnCount > 0 && index == getColumnOrder()[ 0 ];
+      result =    columnCount == 0 && index == 0
+               || index >= 0 && index < columnCount
+                  && columns.get( index ) == displayOrderedColumns.get( 0 );
     }
     return result;
   }
@@ -2996,6 +3865,8 @@ public class Grid extends Composite {
                                 boolean forceEndCompletelyInside,
                                 boolean inverse )
   {
+    GridMetrics metrics = getEnabledMetrics();
+    long startTime = metrics != null ? metrics.rowRangeTimer.start() : 0;
     RowRange result = new RowRange();
     int startIndex = start;
     if( startIndex == -1 ) {
@@ -3018,7 +3889,13 @@ public class Grid extends Composite {
         result.endIndex = startIndex;
         result.rows = 0;
         result.height = 0;
-      } else if( isTree || hasDifferingHeights ) {
+      } else if( isTree && !hasDifferingHeights ) {
+        computeUniformRowRange( result,
+                                startIndex,
+                                availableHeight,
+                                forceEndCompletelyInside,
+                                inverse );
+      } else if( hasDifferingHeights ) {
         int otherIndex = startIndex;
         int consumedItems = 0;
         int consumedHeight = 0;
@@ -3065,30 +3942,92 @@ public class Grid extends Composite {
         result.height = getItemHeight() * result.rows;
       }
     }
+    if( metrics != null ) {
+      metrics.rowRangeTimer.stop( startTime );
+    }
     return result;
   }
 
+  // the row range of a tree whose items have the same height, computed on the visible rows
+  // instead of walking the items
+  private void computeUniformRowRange( RowRange result,
+                                       int startIndex,
+                                       int availableHeight,
+                                       boolean forceEndCompletelyInside,
+                                       boolean inverse )
+  {
+    updateVisibleRows();
+    int itemHeight = getItemHeight();
+    int availableRows = availableHeight / itemHeight;
+    if( !forceEndCompletelyInside && availableRows * itemHeight < availableHeight ) {
+      availableRows++;
+    }
+    availableRows = Math.max( availableRows, 1 );
+    int startRow = findVisibleRow( startIndex );
+    int otherRow = startRow + ( ( availableRows - 1 ) * ( inverse ? -1 : 1 ) );
+    otherRow = Math.max( otherRow, 0 );
+    otherRow = Math.min( otherRow, visibleRowCount - 1 );
+    result.startIndex = !inverse ? startIndex : visibleRows[ otherRow ];
+    result.endIndex = !inverse ? visibleRows[ otherRow ] : startIndex;
+    result.rows = Math.abs( otherRow - startRow ) + 1;
+    result.height = itemHeight * result.rows;
+  }
+
   private boolean isValidItemIndex( int index ) {
     return index >= 0 && index < items.size();
   }
 
   int internalIndexOf( GridItem item ) {
+    // item.index is the index among the siblings of the item, items contains all items including
+    // collapsed children, hence item.index is only used if items.get( index ) == item holds
+    int index = item.index;
+    if( index >= 0 && index < items.size() && items.get( index ) == item ) {
+      return index;
+    }
     return items.indexOf( item );
   }
 
+  GridFootprint estimateFootprint() {
+    checkWidget();
+    GridFootprint result = new GridFootprint( Math.max( 1, columns.size() ) );
+    for( int i = 0; i < items.size(); i++ ) {
+      items.get( i ).addFootprint( result );
+    }
+    return result;
+  }
+
+  GridMetrics getEnabledMetrics() {
+    return metrics != null && metrics.isEnabled() ? metrics : null;
+  }
+
   void scheduleRedraw() {
     invalidateScrollBars();
     invalidateTopBottomIndex();
+    requestRedraw();
+  }
+
+  private void requestRedraw() {
+    // the scroll bars and the top/bottom index are recalculated lazily, hence repeated requests
+    // before doRedraw() are only counted. The grid is registered for redraw every time, as
+    // the framework may drop a registered redraw, e.g. if the grid is hidden.
+    if( redrawScheduled ) {
+      coalescedRedrawCount++;
+    }
+    redrawScheduled = true;
     redraw();
   }
 
   void invalidateTopBottomIndex() {
     topIndex = -1;
     bottomIndex = -1;
+    topRow = -1;
+    bottomRow = -1;
   }
 
   void invalidateScrollBars() {
     scrollValuesObsolete = true;
+    invalidateVisibleRows();
+    invalidateColumnLefts();
   }
 
   ////////////////
@@ -3138,7 +4077,7 @@ public class Grid extends Composite {
 
     public void invalidateTopIndex() {
       invalidateTopBottomIndex();
-      redraw();
+      requestRedraw();
     }
 
     public int getIndentationWidth() {
@@ -3178,9 +4117,33 @@ public class Grid extends Composite {
     }
 
     public int getItemIndex( GridItem item ) {
+      if( filteredItemCount > 0 ) {
+        updateFilteredIndices();
+        return item.filteredIndex;
+      }
       return item.index;
     }
 
+    public int getRootItemCount() {
+      if( filteredItemCount > 0 ) {
+        updateFilteredIndices();
+        return filteredRootItemCount;
+      }
+      return rootItems.size();
+    }
+
+    public int getItemCount( GridItem item ) {
+      if( filteredItemCount > 0 ) {
+        updateFilteredIndices();
+        return item.filteredItemCount;
+      }
+      return item.getItemCount();
+    }
+
+    public GridItem[] getAndResetFilteredOutItems() {
+      return Grid.this.getAndResetFilteredOutItems();
+    }
+
     public ICellToolTipProvider getCellToolTipProvider() {
       return provider;
     }
@@ -3200,6 +4163,43 @@ public class Grid extends Composite {
     public void doRedraw() {
       Grid.this.doRedraw();
     }
+
+    public int getCoalescedRedrawCount() {
+      return coalescedRedrawCount;
+    }
+
+    public boolean isMetricsEnabled() {
+      return getEnabledMetrics() != null;
+    }
+
+    public void startRequestMetrics() {
+      if( metrics != null ) {
+        metrics.startRequest();
+      }
+    }
+
+    public void recordRenderedItem( int chars ) {
+      GridMetrics enabledMetrics = getEnabledMetrics();
+      if( enabledMetrics != null ) {
+        enabledMetrics.itemRendered( chars );
+      }
+    }
+
+    public void updateRenderedColumns() {
+      Grid.this.updateRenderedColumns();
+    }
+
+    public boolean isColumnRendered( int index ) {
+      return Grid.this.isColumnRendered( index );
+    }
+
+    public boolean isFrozenColumn( int index ) {
+      return Grid.this.isFrozenColumn( getColumn( index ) );
+    }
+
+    public void markSplitContainerRendered() {
+      splitContainerRendered = true;
+    }
   }
 
   private final class CellToolTipProvider
@@ -3213,6 +4213,23 @@ public class Grid extends Composite {
 
   }
 
+  // the time source of the cell updates, replaced in tests
+  void setClock( Clock clock ) {
+    this.clock = clock;
+  }
+
+  interface Clock extends SerializableCompatibility {
+    long currentTimeMillis();
+  }
+
+  private static final class SystemClock implements Clock {
+
+    public long currentTimeMillis() {
+      return System.currentTimeMillis();
+    }
+
+  }
+
   static final class LayoutCache implements SerializableCompatibility {
     private static final int UNKNOWN = -1;
 
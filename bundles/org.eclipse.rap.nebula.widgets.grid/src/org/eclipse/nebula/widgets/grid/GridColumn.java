@@ -644,6 +644,7 @@ public class GridColumn extends Item {
     boolean before = isVisible();
     this.visible = visible;
     if( isVisible() != before ) {
+      parent.invalidateColumnLefts();
       if( visible ) {
         notifyListeners( SWT.Show, new Event() );
       } else {
@@ -1088,10 +1089,15 @@ public class GridColumn extends Item {
    */
   public void pack() {
     checkWidget();
+    GridMetrics metrics = parent.getEnabledMetrics();
+    long startTime = metrics != null ? metrics.packTimer.start() : 0;
     int newWidth = Math.max( getPreferredWidth(), parent.getMaxContentWidth( this ) );
     setWidth( newWidth );
     packed = true;
     parent.redraw();
+    if( metrics != null ) {
+      metrics.packTimer.stop( startTime );
+    }
   }
 
   @Override
@@ -1215,6 +1221,7 @@ public class GridColumn extends Item {
     if( this.width != newWidth ) {
       this.width = newWidth;
       packed = false;
+      parent.invalidateColumnLefts();
       processControlEvents();
       if( parent.isAutoHeight() && getHeaderWordWrap() ) {
         parent.layoutCache.invalidateHeaderHeight();
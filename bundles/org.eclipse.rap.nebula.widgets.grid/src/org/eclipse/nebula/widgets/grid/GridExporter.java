@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.eclipse.swt.SWT;
+
+
+/**
+ * <p>
+ * NOTE:  THIS WIDGET AND ITS API ARE STILL UNDER DEVELOPMENT.  THIS IS A PRE-RELEASE ALPHA
+ * VERSION.  USERS SHOULD EXPECT API CHANGES IN FUTURE VERSIONS.
+ * </p>
+ * Writes the texts of a <code>Grid</code> as comma or tab separated values. Every item is
+ * written as one line, in the order of {@link Grid#getItem(int)}, the cells of a line follow
+ * the display order of the visible columns. Fields that contain the separator, a quote or a
+ * line break are quoted as described in RFC 4180, lines are terminated by CRLF.
+ * <p>
+ * The rows are streamed to the writer through a buffer of a configurable size, hence the
+ * memory needed for an export doesn't depend on the number of items. Items of a virtual grid
+ * that have not been materialized yet are not materialized by the export if a row source is
+ * set, their texts are requested from the row source instead.
+ * </p>
+ * <p>
+ * The export accesses the grid and must be called from the thread that created the grid.
+ * </p>
+ *
+ * @see IGridRowSource
+ */
+public final class GridExporter {
+
+  /** The default size of the buffer in characters. */
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private static final String LINE_SEPARATOR = "\r\n";
+
+  private final Grid grid;
+  private char separator = ',';
+  private boolean headerIncluded = true;
+  private int bufferSize = DEFAULT_BUFFER_SIZE;
+  private IGridRowSource rowSource;
+
+  /**
+   * Constructs a new exporter for the given grid.
+   *
+   * @param grid the grid to export
+   *
+   * @exception IllegalArgumentException <ul>
+   *    <li>ERROR_NULL_ARGUMENT - if the grid is null</li>
+   *    <li>ERROR_INVALID_ARGUMENT - if the grid is disposed</li>
+   * </ul>
+   */
+  public GridExporter( Grid grid ) {
+    if( grid == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    if( grid.isDisposed() ) {
+      SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    }
+    this.grid = grid;
+  }
+
+  /**
+   * Sets the character that separates the fields of a line. The default is a comma, use
+   * <code>'\t'</code> for tab separated values.
+   *
+   * @param separator the separator
+   *
+   * @exception IllegalArgumentException <ul>
+   *    <li>ERROR_INVALID_ARGUMENT - if the separator is a quote or a line break</li>
+   * </ul>
+   */
+  public void setSeparator( char separator ) {
+    if( separator == '"' || separator == '\r' || separator == '\n' ) {
+      SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    }
+    this.separator = separator;
+  }
+
+  /**
+   * Returns the character that separates the fields of a line.
+   */
+  public char getSeparator() {
+    return separator;
+  }
+
+  /**
+   * Sets whether the texts of the columns are written as the first line. The default is
+   * <code>true</code>. A grid without columns has no header.
+   *
+   * @param headerIncluded <code>true</code> to write the header
+   */
+  public void setHeaderIncluded( boolean headerIncluded ) {
+    this.headerIncluded = headerIncluded;
+  }
+
+  /**
+   * Returns whether the texts of the columns are written as the first line.
+   */
+  public boolean isHeaderIncluded() {
+    return headerIncluded;
+  }
+
+  /**
+   * Sets the size of the buffer in characters. The buffer is flushed to the writer whenever
+   * it is full and at the end of the export.
+   *
+   * @param bufferSize the size of the buffer
+   *
+   * @exception IllegalArgumentException <ul>
+   *    <li>ERROR_INVALID_ARGUMENT - if the size is not positive</li>
+   * </ul>
+   */
+  public void setBufferSize( int bufferSize ) {
+    if( bufferSize <= 0 ) {
+      SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+    }
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Returns the size of the buffer in characters.
+   */
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * Sets the source of the texts of items that have not been materialized yet. If no row
+   * source is set, such items are materialized like they are by {@link GridItem#getText(int)}.
+   *
+   * @param rowSource the row source or <code>null</code>
+   */
+  public void setRowSource( IGridRowSource rowSource ) {
+    this.rowSource = rowSource;
+  }
+
+  /**
+   * Returns the source of the texts of items that have not been materialized yet.
+   */
+  public IGridRowSource getRowSource() {
+    return rowSource;
+  }
+
+  /**
+   * Writes the contents of the grid to the given stream, encoded with the given charset. The
+   * stream is flushed but not closed.
+   *
+   * @param stream the stream to write to
+   * @param charsetName the name of the charset
+   * @throws IOException if writing to the stream fails
+   *
+   * @exception IllegalArgumentException <ul>
+   *    <li>ERROR_NULL_ARGUMENT - if the stream or the charset name is null</li>
+   * </ul>
+   * @exception org.eclipse.swt.SWTException <ul>
+   *    <li>ERROR_WIDGET_DISPOSED - if the grid has been disposed</li>
+   *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the grid</li>
+   * </ul>
+   */
+  public void export( OutputStream stream, String charsetName ) throws IOException {
+    if( stream == null || charsetName == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    export( new OutputStreamWriter( stream, charsetName ) );
+  }
+
+  /**
+   * Writes the contents of the grid to the given writer. The writer is flushed but not
+   * closed.
+   *
+   * @param writer the writer to write to
+   * @throws IOException if writing to the writer fails
+   *
+   * @exception IllegalArgumentException <ul>
+   *    <li>ERROR_NULL_ARGUMENT - if the writer is null</li>
+   * </ul>
+   * @exception org.eclipse.swt.SWTException <ul>
+   *    <li>ERROR_WIDGET_DISPOSED - if the grid has been disposed</li>
+   *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the grid</li>
+   * </ul>
+   */
+  public void export( Writer writer ) throws IOException {
+    if( writer == null ) {
+      SWT.error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    if( grid.isDisposed() ) {
+      SWT.error( SWT.ERROR_WIDGET_DISPOSED );
+    }
+    int[] columns = getExportedColumns();
+    BufferedWriter out = new BufferedWriter( writer, bufferSize );
+    if( headerIncluded && grid.getColumnCount() > 0 ) {
+      for( int i = 0; i < columns.length; i++ ) {
+        writeField( out, i, grid.getColumn( columns[ i ] ).getText() );
+      }
+      out.write( LINE_SEPARATOR );
+    }
+    int itemCount = grid.getItemCount();
+    for( int index = 0; index < itemCount; index++ ) {
+      GridItem item = grid.getItem( index );
+      for( int i = 0; i < columns.length; i++ ) {
+        writeField( out, i, getText( item, index, columns[ i ] ) );
+      }
+      out.write( LINE_SEPARATOR );
+    }
+    out.flush();
+  }
+
+  // the creation indices of the visible columns in display order, a grid without columns has
+  // a single column with index 0
+  private int[] getExportedColumns() {
+    int[] order = grid.getColumnOrder();
+    int count = 0;
+    for( int i = 0; i < order.length; i++ ) {
+      if( grid.getColumn( order[ i ] ).isVisible() ) {
+        order[ count++ ] = order[ i ];
+      }
+    }
+    int[] result;
+    if( order.length == 0 ) {
+      result = new int[] { 0 };
+    } else {
+      result = new int[ count ];
+      System.arraycopy( order, 0, result, 0, count );
+    }
+    return result;
+  }
+
+  private String getText( GridItem item, int index, int column ) {
+    String result;
+    if( rowSource != null && !item.isCached() ) {
+      result = rowSource.getText( index, column );
+    } else {
+      result = item.getText( column );
+    }
+    return result;
+  }
+
+  private void writeField( Writer out, int position, String text ) throws IOException {
+    if( position > 0 ) {
+      out.write( separator );
+    }
+    if( text != null ) {
+      if( needsQuotes( text ) ) {
+        out.write( '"' );
+        for( int i = 0; i < text.length(); i++ ) {
+          char ch = text.charAt( i );
+          if( ch == '"' ) {
+            out.write( '"' );
+          }
+          out.write( ch );
+        }
+        out.write( '"' );
+      } else {
+        out.write( text );
+      }
+    }
+  }
+
+  private boolean needsQuotes( String text ) {
+    boolean result = false;
+    for( int i = 0; i < text.length() && !result; i++ ) {
+      char ch = text.charAt( i );
+      result = ch == separator || ch == '"' || ch == '\r' || ch == '\n';
+    }
+    return result;
+  }
+
+}
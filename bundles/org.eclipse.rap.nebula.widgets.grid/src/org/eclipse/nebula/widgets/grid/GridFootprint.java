@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid;
+
+import org.eclipse.nebula.widgets.grid.internal.GridItemData.CellData;
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/**
+ * <p>
+ * NOTE:  THIS WIDGET AND ITS API ARE STILL UNDER DEVELOPMENT.  THIS IS A PRE-RELEASE ALPHA
+ * VERSION.  USERS SHOULD EXPECT API CHANGES IN FUTURE VERSIONS.
+ * </p>
+ * An estimate of the memory retained by the items of a <code>Grid</code>, broken down by
+ * column and by tree level. Instances are created with
+ * {@link GridMetrics#estimateFootprint()}.
+ * <p>
+ * The sizes are estimates for a 64 bit VM with compressed references. They are meant to
+ * compare grids with each other, e.g. to find the screens that use most of the heap, and are
+ * not exact. Objects that are shared between items, like images, colors, fonts and the empty
+ * string, are not counted.
+ * </p>
+ */
+@SuppressWarnings( "restriction" )
+public final class GridFootprint implements SerializableCompatibility {
+
+  static final int ITEM_SIZE = 88;
+  static final int ITEM_DATA_SIZE = 48;
+  static final int CELL_DATA_SIZE = 40;
+  static final int ARRAY_SIZE = 16;
+  static final int LIST_SIZE = 40;
+  static final int REFERENCE_SIZE = 4;
+  static final int STRING_SIZE = 40;
+  // map entries and value arrays that GridItemLCA preserves for a cached item during a request
+  static final int PRESERVED_VALUES_SIZE = 784;
+  static final int PRESERVED_VALUES_CELL_SIZE = 23;
+
+  private final int columnCount;
+  private final int[] columnCellDataCounts;
+  private final long[] columnSizes;
+  private int[] levelItemCounts;
+  private long[] levelSizes;
+  private int levelCount;
+  private int itemCount;
+  private int itemDataCount;
+  private int cellDataCount;
+  private int stringCount;
+  private long stringSize;
+  private long preservedValuesSize;
+  private long totalSize;
+
+  GridFootprint( int columnCount ) {
+    this.columnCount = columnCount;
+    columnCellDataCounts = new int[ columnCount ];
+    columnSizes = new long[ columnCount ];
+    levelItemCounts = new int[ 1 ];
+    levelSizes = new long[ 1 ];
+  }
+
+  /**
+   * Returns the number of items.
+   */
+  public int getItemCount() {
+    return itemCount;
+  }
+
+  /**
+   * Returns the number of items whose data has been created. Virtual items that have not been
+   * resolved yet have no data.
+   */
+  public int getItemDataCount() {
+    return itemDataCount;
+  }
+
+  /**
+   * Returns the number of cells that hold attributes other than a text. Cells that only have
+   * a text are stored in a compact form and are not counted.
+   */
+  public int getCellDataCount() {
+    return cellDataCount;
+  }
+
+  /**
+   * Returns the number of non-empty cell texts and tool tips.
+   */
+  public int getStringCount() {
+    return stringCount;
+  }
+
+  /**
+   * Returns the estimated size in bytes of the non-empty cell texts and tool tips.
+   */
+  public long getStringSize() {
+    return stringSize;
+  }
+
+  /**
+   * Returns the estimated size in bytes of the values that are preserved for the cached items
+   * during a request. These values are released at the end of each request.
+   */
+  public long getPreservedValuesSize() {
+    return preservedValuesSize;
+  }
+
+  /**
+   * Returns the estimated size in bytes of all items including their data, cells and strings.
+   * The preserved values are not included.
+   */
+  public long getTotalSize() {
+    return totalSize;
+  }
+
+  /**
+   * Returns the number of columns of the breakdown by column. A grid without columns has one
+   * column.
+   */
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /**
+   * Returns the number of cells in the given column that hold attributes other than a text.
+   *
+   * @param column the zero-relative index of the column in creation order
+   */
+  public int getCellDataCount( int column ) {
+    return columnCellDataCounts[ column ];
+  }
+
+  /**
+   * Returns the estimated size in bytes of the cells and strings in the given column.
+   *
+   * @param column the zero-relative index of the column in creation order
+   */
+  public long getColumnSize( int column ) {
+    return columnSizes[ column ];
+  }
+
+  /**
+   * Returns the number of tree levels of the breakdown by level. Level 0 are the root items.
+   */
+  public int getLevelCount() {
+    return levelCount;
+  }
+
+  /**
+   * Returns the number of items on the given tree level.
+   *
+   * @param level the tree level, 0 for the root items
+   */
+  public int getItemCount( int level ) {
+    return levelItemCounts[ level ];
+  }
+
+  /**
+   * Returns the estimated size in bytes of the items on the given tree level including their
+   * data, cells and strings.
+   *
+   * @param level the tree level, 0 for the root items
+   */
+  public long getLevelSize( int level ) {
+    return levelSizes[ level ];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder();
+    result.append( "GridFootprint {" );
+    result.append( "items: " ).append( itemCount );
+    result.append( ", item data: " ).append( itemDataCount );
+    result.append( ", cell data: " ).append( cellDataCount );
+    result.append( ", strings: " ).append( stringCount );
+    result.append( ", string bytes: " ).append( stringSize );
+    result.append( ", preserved bytes: " ).append( preservedValuesSize );
+    result.append( ", total bytes: " ).append( totalSize );
+    result.append( ", bytes per column: [" );
+    for( int i = 0; i < columnCount; i++ ) {
+      result.append( i == 0 ? "" : ", " ).append( columnSizes[ i ] );
+    }
+    result.append( "], bytes per level: [" );
+    for( int i = 0; i < levelCount; i++ ) {
+      result.append( i == 0 ? "" : ", " ).append( levelSizes[ i ] );
+    }
+    result.append( "]}" );
+    return result.toString();
+  }
+
+  void addItem( int level, boolean cached ) {
+    ensureLevel( level );
+    itemCount++;
+    levelItemCounts[ level ]++;
+    addSize( level, ITEM_SIZE );
+    if( cached ) {
+      preservedValuesSize += PRESERVED_VALUES_SIZE + PRESERVED_VALUES_CELL_SIZE * columnCount;
+    }
+  }
+
+  void addItemData( int level, int cellSlotCount, int childCount ) {
+    itemDataCount++;
+    long size = ITEM_DATA_SIZE;
+    if( cellSlotCount > 0 ) {
+      size += ARRAY_SIZE + REFERENCE_SIZE * cellSlotCount;
+    }
+    if( childCount > 0 ) {
+      size += LIST_SIZE + REFERENCE_SIZE * childCount;
+    }
+    addSize( level, size );
+  }
+
+  void addCellData( int level, int column, CellData cellData ) {
+    cellDataCount++;
+    long size = CELL_DATA_SIZE + getStringSize( cellData.text ) + getStringSize( cellData.tooltip );
+    if( column < columnCount ) {
+      columnCellDataCounts[ column ]++;
+      columnSizes[ column ] += size;
+    }
+    addSize( level, size );
+  }
+
+  void addText( int level, int column, String text ) {
+    long size = getStringSize( text );
+    if( column < columnCount ) {
+      columnSizes[ column ] += size;
+    }
+    addSize( level, size );
+  }
+
+  private long getStringSize( String string ) {
+    long result = 0;
+    if( string != null && string.length() > 0 ) {
+      // object with hash and value array, array header and two bytes per char, 8 byte aligned
+      result = STRING_SIZE + ( ( 2 * string.length() + 7 ) & ~7 );
+      stringCount++;
+      stringSize += result;
+    }
+    return result;
+  }
+
+  private void addSize( int level, long size ) {
+    levelSizes[ level ] += size;
+    totalSize += size;
+  }
+
+  private void ensureLevel( int level ) {
+    if( level >= levelItemCounts.length ) {
+      int length = Math.max( level + 1, levelItemCounts.length * 2 );
+      int[] itemCounts = new int[ length ];
+      long[] sizes = new long[ length ];
+      System.arraycopy( levelItemCounts, 0, itemCounts, 0, levelCount );
+      System.arraycopy( levelSizes, 0, sizes, 0, levelCount );
+      levelItemCounts = itemCounts;
+      levelSizes = sizes;
+    }
+    levelCount = Math.max( levelCount, level + 1 );
+  }
+
+}
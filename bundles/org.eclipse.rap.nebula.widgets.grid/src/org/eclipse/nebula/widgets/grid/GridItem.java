@@ -14,6 +14,8 @@ import static org.eclipse.rap.rwt.internal.textsize.TextSizeUtil.stringExtent;
 import static org.eclipse.swt.internal.widgets.MarkupUtil.isMarkupEnabledFor;
 import static org.eclipse.swt.internal.widgets.MarkupValidator.isValidationDisabledFor;
 
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.eclipse.nebula.widgets.grid.internal.GridItemData;
@@ -57,9 +59,14 @@ public class GridItem extends Item {
   private GridItemData data;
   private boolean hasChildren;
   private boolean visible = true;
+  private boolean filtered;
   private boolean cached;
+  private final int level;
   private transient IGridItemAdapter gridItemAdapter;
   int index;
+  int filteredIndex;
+  int visibleRow;
+  int filteredItemCount;
 
   /**
    * Creates a new instance of this class and places the item at the end of
@@ -165,6 +172,8 @@ public class GridItem extends Item {
     super( parent, style, index );
     this.parent = parent;
     this.parentItem = parentItem;
+    // items can not be re-parented, hence the level never changes
+    level = parentItem == null ? 0 : parentItem.level + 1;
     if( parentItem == null ) {
       parent.newItem( this, index, true );
       parent.newRootItem( this, index );
@@ -187,9 +196,9 @@ public class GridItem extends Item {
     if( !parent.isDisposing() && !isDisposed() ) {
       if( data != null ) {
         for( int i = 0; i < parent.getColumnCount(); i++ ) {
-          CellData itemData = getCellData( i );
+          CellData itemData = readCellData( i );
           updateColumnImageCount( i, itemData.image, null );
-          updateColumnTextCount( i, itemData.text, "" );
+          updateColumnTextCount( i, readText( i ), "" );
         }
       }
       int index = flatIndex == SWT.DEFAULT ? parent.internalIndexOf( this ) : flatIndex;
@@ -318,6 +327,33 @@ public class GridItem extends Item {
     return hasChildren ? getItemData().getChildren().size() : 0;
   }
 
+  /**
+   * Sets the number of child items contained in the receiver. Surplus children are disposed
+   * from the end, missing children are appended. If the parent grid was created with the
+   * <code>SWT.VIRTUAL</code> style, the attributes of the new items are requested with
+   * <code>SWT.SetData</code> as they become visible.
+   *
+   * @param count the number of child items
+   * @throws org.eclipse.swt.SWTException
+   *             <ul>
+   *             <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed
+   *             </li>
+   *             <li>ERROR_THREAD_INVALID_ACCESS - if not called from the
+   *             thread that created the receiver</li>
+   *             </ul>
+   */
+  public void setItemCount( int count ) {
+    checkWidget();
+    int itemCount = Math.max( 0, count );
+    while( hasChildren && itemCount < getItemData().getChildren().size() ) {
+      List<GridItem> children = getItemData().getChildren();
+      children.get( children.size() - 1 ).dispose();
+    }
+    while( itemCount > ( hasChildren ? getItemData().getChildren().size() : 0 ) ) {
+      new GridItem( parent, this, SWT.NONE, -1 );
+    }
+  }
+
   /**
    * Returns a (possibly empty) array of <code>GridItem</code>s which are the
    * direct item children of the receiver.
@@ -371,6 +407,36 @@ public class GridItem extends Item {
     return getItemData().getChildren().get( index );
   }
 
+  /**
+   * Moves the receiver to the given index among its siblings, which are the root items of the
+   * parent grid or the children of the parent item. The children of the receiver are moved
+   * together with it. The receiver is moved in place, which means that the selection, the
+   * focus item and all item attributes are retained and no item is disposed or recreated.
+   *
+   * @param index the new index of the receiver
+   * @exception IllegalArgumentException
+   *                <ul>
+   *                <li>ERROR_INVALID_RANGE - if the index is not between 0 and
+   *                the number of siblings - 1 (inclusive)</li>
+   *                </ul>
+   * @exception org.eclipse.swt.SWTException
+   *                <ul>
+   *                <li>ERROR_WIDGET_DISPOSED - if the receiver has been
+   *                disposed</li>
+   *                <li>ERROR_THREAD_INVALID_ACCESS - if not called from the
+   *                thread that created the receiver</li>
+   *                </ul>
+   * @see Grid#reorder(int[])
+   */
+  public void moveTo( int index ) {
+    checkWidget();
+    if( parentItem == null ) {
+      parent.moveRootItem( this, index );
+    } else {
+      parent.moveItem( this, parentItem.getItemData().getChildren(), index );
+    }
+  }
+
   /**
    * Searches the receiver's list starting at the first item (index 0) until
    * an item is found that is equal to the argument, and returns the index of
@@ -463,7 +529,7 @@ public class GridItem extends Item {
       boolean unselected = false;
       if( hasChildren ) {
         for( GridItem item : getItemData().getChildren() ) {
-          item.setVisible( expanded && visible );
+          item.setVisible( expanded && isVisible() );
           if( !expanded ) {
             if( parent.isSelected( item ) ) {
               parent.deselect( parent.internalIndexOf( item ) );
@@ -502,7 +568,7 @@ public class GridItem extends Item {
    */
   public int getLevel() {
     checkWidget();
-    return parentItem == null ? 0 : parentItem.getLevel() + 1;
+    return level;
   }
 
   /**
@@ -605,7 +671,7 @@ public class GridItem extends Item {
   public Font getFont( int index ) {
     checkWidget();
     handleVirtual();
-    Font result = getCellData( index ).font;
+    Font result = readCellData( index ).font;
     if( result == null ) {
       result = getFont();
     }
@@ -708,7 +774,7 @@ public class GridItem extends Item {
   public Color getBackground( int index ) {
     checkWidget();
     handleVirtual();
-    Color result = getCellData( index ).background;
+    Color result = readCellData( index ).background;
      if( result == null ) {
        result = getBackground();
      }
@@ -811,7 +877,7 @@ public class GridItem extends Item {
   public Color getForeground( int index ) {
     checkWidget();
     handleVirtual();
-    Color result = getCellData( index ).foreground;
+    Color result = readCellData( index ).foreground;
     if( result == null ) {
       result = getForeground();
     }
@@ -863,10 +929,15 @@ public class GridItem extends Item {
     if( isMarkupEnabledFor( parent ) && !isValidationDisabledFor( parent ) ) {
       MarkupValidator.getInstance().validate( text );
     }
-    CellData cellData = getCellData( index );
-    updateColumnTextCount( index, cellData.text, text );
-    cellData.text = text;
+    GridItemData itemData = getItemData();
+    int slot = parent.getColumnSlot( index );
+    updateColumnTextCount( index, itemData.getText( slot ), text );
+    if( text.length() > 0 ) {
+      itemData.ensureSlotCount( parent.getColumnSlotCount() );
+    }
+    itemData.setText( slot, text );
     markCached();
+    parent.filterItem( this );
   }
 
   /**
@@ -887,7 +958,7 @@ public class GridItem extends Item {
   public String getText( int index ) {
     checkWidget();
     handleVirtual();
-    return getCellData( index ).text;
+    return readText( index );
   }
 
   /**
@@ -931,7 +1002,7 @@ public class GridItem extends Item {
   public String getToolTipText( int index ) {
     checkWidget();
     handleVirtual();
-    return getCellData( index ).tooltip;
+    return readCellData( index ).tooltip;
   }
 
   /**
@@ -981,6 +1052,7 @@ public class GridItem extends Item {
     cellData.image = image;
     parent.imageSetOnItem( index, this );
     markCached();
+    parent.filterItem( this );
   }
 
   /**
@@ -1001,7 +1073,7 @@ public class GridItem extends Item {
   public Image getImage( int index ) {
     checkWidget();
     handleVirtual();
-    return getCellData( index ).image;
+    return readCellData( index ).image;
   }
 
   /**
@@ -1059,6 +1131,7 @@ public class GridItem extends Item {
     // [if] TODO: probably need a check for parent.getColumn( index ).isCheck() ?
     getCellData( index ).checked = checked;
     markCached();
+    parent.filterItem( this );
   }
 
   /**
@@ -1078,7 +1151,7 @@ public class GridItem extends Item {
   public boolean getChecked( int index ) {
     checkWidget();
     handleVirtual();
-    return getCellData( index ).checked;
+    return readCellData( index ).checked;
   }
 
   /**
@@ -1163,7 +1236,7 @@ public class GridItem extends Item {
   public boolean getGrayed( int index ) {
     checkWidget();
     handleVirtual();
-    return getCellData( index ).grayed;
+    return readCellData( index ).grayed;
   }
 
   /**
@@ -1210,7 +1283,7 @@ public class GridItem extends Item {
   public boolean getCheckable( int index ) {
     checkWidget();
     handleVirtual();
-    boolean result = getCellData( index ).checkable;
+    boolean result = readCellData( index ).checkable;
     if( parent.getColumnCount() > 0 && !parent.getColumn( index ).getCheckable() ) {
       result = false;
     }
@@ -1250,8 +1323,7 @@ public class GridItem extends Item {
    */
   public int getHeight() {
     checkWidget();
-    int customHeight = getItemData().customHeight;
-    return customHeight != -1 ? customHeight : parent.getItemHeight();
+    return internalGetHeight();
   }
 
   /**
@@ -1289,14 +1361,7 @@ public class GridItem extends Item {
    */
   public Rectangle getBounds( int columnIndex ) {
     checkWidget();
-    // [if] -1000 is used in the original implementation
-    Rectangle result = new Rectangle( -1000, -1000, 0, 0 );
-    if( isVisible() && parent.isShown( this ) ) {
-      Point origin = parent.getOrigin( parent.getColumn( columnIndex ), this );
-      Point cellSize = getCellSize( columnIndex );
-      result = new Rectangle( origin.x, origin.y, cellSize.x, cellSize.y );
-    }
-    return result;
+    return parent.getCellBounds( this, columnIndex );
   }
 
   @SuppressWarnings("unchecked")
@@ -1318,16 +1383,58 @@ public class GridItem extends Item {
   }
 
   boolean isVisible() {
-    return visible;
+    return visible && !filtered;
   }
 
   void setVisible( boolean visible ) {
     if( this.visible != visible ) {
+      boolean wasVisible = isVisible();
       this.visible = visible;
-      parent.updateVisibleItems( visible ? 1 : -1 );
+      updateVisibility( wasVisible );
+    }
+  }
+
+  boolean isFiltered() {
+    return filtered;
+  }
+
+  void setFiltered( boolean filtered ) {
+    if( this.filtered != filtered ) {
+      boolean wasVisible = isVisible();
+      this.filtered = filtered;
+      updateVisibility( wasVisible );
+    }
+  }
+
+  boolean isHiddenByFilter() {
+    return filtered || parentItem != null && parentItem.isHiddenByFilter();
+  }
+
+  // doesn't create the item data, items without a custom height have the default height
+  int internalGetHeight() {
+    int customHeight = data == null ? -1 : data.customHeight;
+    return customHeight != -1 ? customHeight : parent.getItemHeight();
+  }
+
+  void updateFilteredIndices() {
+    filteredItemCount = 0;
+    if( hasChildren ) {
+      for( GridItem item : getItemData().getChildren() ) {
+        if( !item.filtered ) {
+          item.filteredIndex = filteredItemCount++;
+          item.updateFilteredIndices();
+        }
+      }
+    }
+  }
+
+  private void updateVisibility( boolean wasVisible ) {
+    boolean isVisible = isVisible();
+    if( wasVisible != isVisible ) {
+      parent.updateVisibleItems( isVisible ? 1 : -1 );
       if( hasChildren ) {
         for( GridItem item : getItemData().getChildren() ) {
-          item.setVisible( visible && isExpanded() );
+          item.setVisible( isVisible && isExpanded() );
         }
       }
     }
@@ -1363,24 +1470,61 @@ public class GridItem extends Item {
     }
   }
 
-  void columnAdded( int index ) {
-    if( data != null && parent.getColumnCount() > 1 ) {
-      data.addCellData( index );
+  void sortChildren( Comparator<? super GridItem> comparator ) {
+    if( hasChildren ) {
+      Collections.sort( getItemData().getChildren(), comparator );
+      adjustItemIndices( 0 );
+    }
+  }
+
+  int getFlatItemCount() {
+    int result = 1;
+    if( hasChildren ) {
+      for( GridItem item : getItemData().getChildren() ) {
+        result += item.getFlatItemCount();
+      }
     }
+    return result;
   }
 
-  void columnRemoved( int index ) {
-    if( data != null && parent.getColumnCount() > 0 ) {
-      data.removeCellData( index );
+  void addFootprint( GridFootprint footprint ) {
+    footprint.addItem( level, isCached() );
+    if( data != null ) {
+      footprint.addItemData( level, data.getCellSlotCount(), data.getChildCount() );
+      int cellCount = Math.max( 1, parent.getColumnCount() );
+      for( int i = 0; i < cellCount; i++ ) {
+        int slot = parent.getColumnSlot( i );
+        CellData cellData = data.findCellData( slot );
+        if( cellData != null ) {
+          footprint.addCellData( level, i, cellData );
+        } else {
+          footprint.addText( level, i, data.getText( slot ) );
+        }
+      }
+    }
+  }
+
+  void collectItems( List<GridItem> result ) {
+    result.add( this );
+    if( hasChildren ) {
+      for( GridItem item : getItemData().getChildren() ) {
+        item.collectItems( result );
+      }
+    }
+  }
+
+  void columnSlotsCompacted( int[] newSlots, int slotCount ) {
+    if( data != null ) {
+      data.moveCells( newSlots, slotCount );
     }
   }
 
   void clear( boolean allChildren ) {
     if( data != null ) {
       for( int i = 0; i < parent.getColumnCount(); i++ ) {
-        CellData cellData = getCellData( i );
+        CellData cellData = readCellData( i );
         updateColumnImageCount( i, cellData.image, null );
-        updateColumnTextCount( i, cellData.text, "" );
+        updateColumnTextCount( i, readText( i ), "" );
       }
       data.clear();
     }
@@ -1407,7 +1551,7 @@ public class GridItem extends Item {
   private int getIndentationWidth( int index ) {
     int result = 0;
     if( parent.isTreeColumn( index ) ) {
-      result = ( getLevel() + 1 ) * parent.getIndentationWidth();
+      result = ( level + 1 ) * parent.getIndentationWidth();
     }
     return result;
   }
@@ -1434,7 +1578,7 @@ public class GridItem extends Item {
 
   private int getSpacing( int index ) {
     int result = 0;
-    String text = getCellData( index ).text;
+    String text = readText( index );
     if( parent.hasColumnImages( index ) && text.length() > 0 ) {
       result = parent.getCellSpacing();
     }
@@ -1442,7 +1586,7 @@ public class GridItem extends Item {
   }
 
   private int getTextWidth( int index ) {
-    String text = getCellData( index ).text;
+    String text = readText( index );
     if( text.length() > 0 ) {
       return stringExtent( internalGetFont( index ), text, isMarkupEnabledFor( parent ) ).x;
     }
@@ -1461,7 +1605,7 @@ public class GridItem extends Item {
   }
 
   private Font internalGetFont( int index ) {
-    Font result = getCellData( index ).font;
+    Font result = readCellData( index ).font;
     if( result == null ) {
       result = getItemData().defaultFont;
     }
@@ -1491,7 +1635,18 @@ public class GridItem extends Item {
   }
 
   private CellData getCellData( int index ) {
-    return getItemData().getCellData( index );
+    GridItemData itemData = getItemData();
+    int slot = parent.getColumnSlot( index );
+    itemData.ensureSlotCount( parent.getColumnSlotCount() );
+    return itemData.getCellData( slot );
+  }
+
+  private CellData readCellData( int index ) {
+    return getItemData().readCellData( parent.getColumnSlot( index ) );
+  }
+
+  private String readText( int index ) {
+    return getItemData().getText( parent.getColumnSlot( index ) );
   }
 
   private GridItemData getItemData() {
@@ -1501,7 +1656,11 @@ public class GridItem extends Item {
 
   void ensureItemData() {
     if( data == null ) {
-      data = new GridItemData( parent.getColumnCount() );
+      data = new GridItemData();
+      GridMetrics metrics = parent.getEnabledMetrics();
+      if( metrics != null ) {
+        metrics.materializedItems++;
+      }
     }
   }
 
@@ -1511,6 +1670,10 @@ public class GridItem extends Item {
       Event event = new Event();
       event.item = this;
       event.index = index;
+      GridMetrics metrics = parent.getEnabledMetrics();
+      if( metrics != null ) {
+        metrics.setDataEvents++;
+      }
       parent.notifyListeners( SWT.SetData, event );
     }
   }
@@ -1599,7 +1762,7 @@ public class GridItem extends Item {
       int columnCount = Math.max( 1, getParent().getColumnCount() );
       Color[] result = new Color[ columnCount ];
       for( int i = 0; i < columnCount; i++ ) {
-        result[ i ] = getCellData( i ).background;
+        result[ i ] = readCellData( i ).background;
       }
       return result;
     }
@@ -1608,7 +1771,7 @@ public class GridItem extends Item {
       int columnCount = Math.max( 1, getParent().getColumnCount() );
       Color[] result = new Color[ columnCount ];
       for( int i = 0; i < columnCount; i++ ) {
-        result[ i ] = getCellData( i ).foreground;
+        result[ i ] = readCellData( i ).foreground;
       }
       return result;
     }
@@ -1617,7 +1780,7 @@ public class GridItem extends Item {
       int columnCount = Math.max( 1, getParent().getColumnCount() );
       Font[] result = new Font[ columnCount ];
       for( int i = 0; i < columnCount; i++ ) {
-        result[ i ] = getCellData( i ).font;
+        result[ i ] = readCellData( i ).font;
       }
       return result;
     }
@@ -0,0 +1,316 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/**
+ * <p>
+ * NOTE:  THIS WIDGET AND ITS API ARE STILL UNDER DEVELOPMENT.  THIS IS A PRE-RELEASE ALPHA
+ * VERSION.  USERS SHOULD EXPECT API CHANGES IN FUTURE VERSIONS.
+ * </p>
+ * Collects counters and timers that describe the server side costs of a <code>Grid</code>.
+ * An instance can be obtained with <code>grid.getAdapter( GridMetrics.class )</code>.
+ * <p>
+ * The collection is disabled by default. While it is disabled, the grid only checks a flag
+ * and no values are recorded. Counters and timers accumulate until they are reset.
+ * </p>
+ * <p>
+ * The values can be read from any thread, e.g. by a JMX bean or a metrics registry. As the
+ * grid updates them without synchronization, a value read from another thread may be slightly
+ * out of date. <code>getValues()</code> returns all values with stable names, which can be
+ * used to register them with a registry.
+ * </p>
+ *
+ * @see Grid#getAdapter(Class)
+ */
+@SuppressWarnings( "restriction" )
+public final class GridMetrics implements SerializableCompatibility {
+
+  /** Number of <code>SWT.SetData</code> events fired by the grid. */
+  public static final String SET_DATA_EVENTS = "grid.setDataEvents";
+  /** Number of items whose data (texts, images, cell attributes) has been created. */
+  public static final String MATERIALIZED_ITEMS = "grid.materializedItems";
+  /** Number of items processed by the render phase of the grid item LCA. */
+  public static final String RENDERED_ITEMS = "grid.renderedItems";
+  /** Number of items processed by the render phase in the current or the last request. */
+  public static final String RENDERED_ITEMS_IN_REQUEST = "grid.renderedItemsInRequest";
+  /**
+   * Approximate number of JSON characters rendered by the grid item LCA. Images, colors and
+   * fonts are not taken into account.
+   */
+  public static final String RENDERED_ITEM_CHARS = "grid.renderedItemChars";
+  /** Number of row range calculations. */
+  public static final String ROW_RANGE_COUNT = "grid.rowRange.count";
+  /** Time spent in row range calculations, in nanoseconds. */
+  public static final String ROW_RANGE_TIME = "grid.rowRange.time";
+  /** Number of scroll bar updates. */
+  public static final String UPDATE_SCROLL_BARS_COUNT = "grid.updateScrollBars.count";
+  /** Time spent in scroll bar updates, in nanoseconds. */
+  public static final String UPDATE_SCROLL_BARS_TIME = "grid.updateScrollBars.time";
+  /** Number of column packs. */
+  public static final String PACK_COUNT = "grid.pack.count";
+  /** Time spent in packing columns, in nanoseconds. */
+  public static final String PACK_TIME = "grid.pack.time";
+  /** Current number of selected items. */
+  public static final String SELECTION_SIZE = "grid.selectionSize";
+  /** Number of times the pending cell updates have been applied. */
+  public static final String CELL_UPDATE_FLUSHES = "grid.cellUpdates.flushes";
+  /** Number of cell texts applied by <code>Grid.applyCellUpdates</code>. */
+  public static final String CELL_UPDATES_APPLIED = "grid.cellUpdates.applied";
+  /** Number of cell updates that were replaced by a later update of the same cell. */
+  public static final String CELL_UPDATES_CONFLATED = "grid.cellUpdates.conflated";
+  /** Number of cell updates that were dropped because their item or column did not exist. */
+  public static final String CELL_UPDATES_DROPPED = "grid.cellUpdates.dropped";
+  /**
+   * The interval between two flushes of cell updates in the last flush, in milliseconds. It
+   * is larger than the configured interval while the client is slow.
+   */
+  public static final String CELL_UPDATE_INTERVAL = "grid.cellUpdates.interval";
+
+  private final Grid grid;
+  private final Collection<GridItem> selectedItems;
+  private volatile boolean enabled;
+  long setDataEvents;
+  long materializedItems;
+  long renderedItems;
+  long renderedItemsInRequest;
+  long renderedItemChars;
+  long cellUpdateFlushes;
+  long cellUpdatesApplied;
+  long cellUpdatesConflated;
+  long cellUpdatesDropped;
+  long cellUpdateInterval;
+  final Timer rowRangeTimer;
+  final Timer updateScrollBarsTimer;
+  final Timer packTimer;
+
+  GridMetrics( Grid grid, Collection<GridItem> selectedItems ) {
+    this.grid = grid;
+    this.selectedItems = selectedItems;
+    rowRangeTimer = new Timer();
+    updateScrollBarsTimer = new Timer();
+    packTimer = new Timer();
+  }
+
+  /**
+   * Enables or disables the collection of metrics. Disabling the collection retains the
+   * values that have been collected so far.
+   *
+   * @param enabled <code>true</code> to collect metrics, <code>false</code> otherwise
+   */
+  public void setEnabled( boolean enabled ) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Returns whether metrics are collected.
+   *
+   * @return <code>true</code> if metrics are collected, <code>false</code> otherwise
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Resets all counters and timers to zero.
+   */
+  public void reset() {
+    setDataEvents = 0;
+    materializedItems = 0;
+    renderedItems = 0;
+    renderedItemsInRequest = 0;
+    renderedItemChars = 0;
+    cellUpdateFlushes = 0;
+    cellUpdatesApplied = 0;
+    cellUpdatesConflated = 0;
+    cellUpdatesDropped = 0;
+    cellUpdateInterval = 0;
+    rowRangeTimer.reset();
+    updateScrollBarsTimer.reset();
+    packTimer.reset();
+  }
+
+  /** Returns the number of <code>SWT.SetData</code> events fired, cumulative. */
+  public long getSetDataEvents() {
+    return setDataEvents;
+  }
+
+  /** Returns the number of items whose data has been created, cumulative. */
+  public long getMaterializedItems() {
+    return materializedItems;
+  }
+
+  /** Returns the number of items processed by the render phase, cumulative. */
+  public long getRenderedItems() {
+    return renderedItems;
+  }
+
+  /** Returns the number of items processed by the render phase in the current or last request. */
+  public long getRenderedItemsInRequest() {
+    return renderedItemsInRequest;
+  }
+
+  /** Returns the approximate number of JSON characters rendered for items, cumulative. */
+  public long getRenderedItemChars() {
+    return renderedItemChars;
+  }
+
+  /** Returns the number of row range calculations, cumulative. */
+  public long getRowRangeCount() {
+    return rowRangeTimer.count;
+  }
+
+  /** Returns the time spent in row range calculations in nanoseconds, cumulative. */
+  public long getRowRangeTime() {
+    return rowRangeTimer.time;
+  }
+
+  /** Returns the number of scroll bar updates, cumulative. */
+  public long getUpdateScrollBarsCount() {
+    return updateScrollBarsTimer.count;
+  }
+
+  /** Returns the time spent in scroll bar updates in nanoseconds, cumulative. */
+  public long getUpdateScrollBarsTime() {
+    return updateScrollBarsTimer.time;
+  }
+
+  /** Returns the number of column packs, cumulative. */
+  public long getPackCount() {
+    return packTimer.count;
+  }
+
+  /** Returns the time spent in packing columns in nanoseconds, cumulative. */
+  public long getPackTime() {
+    return packTimer.time;
+  }
+
+  /** Returns the current number of selected items, not affected by {@link #reset()}. */
+  public int getSelectionSize() {
+    return selectedItems.size();
+  }
+
+  /** Returns the number of times pending cell updates have been applied, cumulative. */
+  public long getCellUpdateFlushes() {
+    return cellUpdateFlushes;
+  }
+
+  /** Returns the number of cell texts applied from cell updates, cumulative. */
+  public long getCellUpdatesApplied() {
+    return cellUpdatesApplied;
+  }
+
+  /** Returns the number of cell updates replaced by a later update of the same cell, cumulative. */
+  public long getCellUpdatesConflated() {
+    return cellUpdatesConflated;
+  }
+
+  /** Returns the number of cell updates dropped for missing items or columns, cumulative. */
+  public long getCellUpdatesDropped() {
+    return cellUpdatesDropped;
+  }
+
+  /** Returns the cell update interval of the last flush in milliseconds, not cumulative. */
+  public long getCellUpdateInterval() {
+    return cellUpdateInterval;
+  }
+
+  /**
+   * Returns a snapshot of all values. The keys are the names defined by the constants of this
+   * class, the iteration order of the map is stable.
+   *
+   * @return the values by name, never <code>null</code>
+   */
+  public Map<String, Number> getValues() {
+    Map<String, Number> result = new LinkedHashMap<String, Number>();
+    result.put( SET_DATA_EVENTS, Long.valueOf( setDataEvents ) );
+    result.put( MATERIALIZED_ITEMS, Long.valueOf( materializedItems ) );
+    result.put( RENDERED_ITEMS, Long.valueOf( renderedItems ) );
+    result.put( RENDERED_ITEMS_IN_REQUEST, Long.valueOf( renderedItemsInRequest ) );
+    result.put( RENDERED_ITEM_CHARS, Long.valueOf( renderedItemChars ) );
+    result.put( ROW_RANGE_COUNT, Long.valueOf( rowRangeTimer.count ) );
+    result.put( ROW_RANGE_TIME, Long.valueOf( rowRangeTimer.time ) );
+    result.put( UPDATE_SCROLL_BARS_COUNT, Long.valueOf( updateScrollBarsTimer.count ) );
+    result.put( UPDATE_SCROLL_BARS_TIME, Long.valueOf( updateScrollBarsTimer.time ) );
+    result.put( PACK_COUNT, Long.valueOf( packTimer.count ) );
+    result.put( PACK_TIME, Long.valueOf( packTimer.time ) );
+    result.put( SELECTION_SIZE, Integer.valueOf( selectedItems.size() ) );
+    result.put( CELL_UPDATE_FLUSHES, Long.valueOf( cellUpdateFlushes ) );
+    result.put( CELL_UPDATES_APPLIED, Long.valueOf( cellUpdatesApplied ) );
+    result.put( CELL_UPDATES_CONFLATED, Long.valueOf( cellUpdatesConflated ) );
+    result.put( CELL_UPDATES_DROPPED, Long.valueOf( cellUpdatesDropped ) );
+    result.put( CELL_UPDATE_INTERVAL, Long.valueOf( cellUpdateInterval ) );
+    return result;
+  }
+
+  /**
+   * Estimates the memory retained by the items of the grid. The estimate walks all items and
+   * cells of the grid, hence its costs are proportional to the number of items. Unlike the
+   * other methods of this class it has to be called from the UI thread. It works regardless
+   * of whether the metrics are enabled.
+   *
+   * @return the estimated footprint of the grid, never <code>null</code>
+   * @throws org.eclipse.swt.SWTException
+   * <ul>
+   * <li>ERROR_WIDGET_DISPOSED - if the grid has been disposed</li>
+   * <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that
+   * created the grid</li>
+   * </ul>
+   */
+  public GridFootprint estimateFootprint() {
+    return grid.estimateFootprint();
+  }
+
+  void startRequest() {
+    renderedItemsInRequest = 0;
+  }
+
+  void itemRendered( int chars ) {
+    renderedItems++;
+    renderedItemsInRequest++;
+    renderedItemChars += chars;
+  }
+
+  void cellUpdatesFlushed( int applied, int conflated, int dropped, long interval ) {
+    cellUpdateFlushes++;
+    cellUpdatesApplied += applied;
+    cellUpdatesConflated += conflated;
+    cellUpdatesDropped += dropped;
+    cellUpdateInterval = interval;
+  }
+
+  static final class Timer implements SerializableCompatibility {
+
+    long count;
+    long time;
+
+    long start() {
+      return System.nanoTime();
+    }
+
+    void stop( long startTime ) {
+      count++;
+      time += System.nanoTime() - startTime;
+    }
+
+    void reset() {
+      count = 0;
+      time = 0;
+    }
+  }
+
+}
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid;
+
+
+/**
+ * <p>
+ * NOTE:  THIS WIDGET AND ITS API ARE STILL UNDER DEVELOPMENT.  THIS IS A PRE-RELEASE ALPHA
+ * VERSION.  USERS SHOULD EXPECT API CHANGES IN FUTURE VERSIONS.
+ * </p>
+ * A filter decides which items of a <code>Grid</code> are shown. Items that are rejected by the
+ * filter are hidden together with all their children, but are not disposed.
+ *
+ * @see Grid#setFilter(IGridItemFilter)
+ */
+public interface IGridItemFilter {
+
+  /**
+   * Returns whether the given item is shown.
+   *
+   * @param item the item to test, never <code>null</code>
+   * @return <code>true</code> if the item is shown, <code>false</code> if it is hidden
+   */
+  boolean select( GridItem item );
+
+}
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid;
+
+
+/**
+ * <p>
+ * NOTE:  THIS WIDGET AND ITS API ARE STILL UNDER DEVELOPMENT.  THIS IS A PRE-RELEASE ALPHA
+ * VERSION.  USERS SHOULD EXPECT API CHANGES IN FUTURE VERSIONS.
+ * </p>
+ * Provides the texts of the items of a virtual <code>Grid</code> that have not been
+ * materialized yet. The texts are requested directly from the model, without creating the
+ * data of the items or sending <code>SWT.SetData</code> events.
+ *
+ * @see GridExporter#setRowSource(IGridRowSource)
+ */
+public interface IGridRowSource {
+
+  /**
+   * Returns the text of a cell.
+   *
+   * @param index the zero-relative index of the item, as returned by {@link Grid#getItem(int)}
+   * @param column the zero-relative index of the column in creation order
+   * @return the text of the cell, <code>null</code> is treated as an empty text
+   */
+  String getText( int index, int column );
+
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.internal;
+
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/*
+ * Maps the index of a column to the slot that holds its cells in GridItemData. A new column
+ * gets a new slot and a removed column leaves its slot unused, hence the items don't have to
+ * shift their cells when columns are added or removed. Unused slots are dropped by compact()
+ * once they outnumber the columns.
+ */
+@SuppressWarnings( "restriction" )
+public class ColumnSlotMap implements SerializableCompatibility {
+
+  private static final int MIN_UNUSED_SLOTS = 8;
+
+  // a grid without columns has one cell, slots[ 0 ] is its slot
+  private int[] slots;
+  private int columnCount;
+  private int slotCount;
+
+  public ColumnSlotMap() {
+    slots = new int[ 4 ];
+    slotCount = 1;
+  }
+
+  public int getSlot( int index ) {
+    int size = Math.max( 1, columnCount );
+    if( index < 0 || index >= size ) {
+      throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + size );
+    }
+    return slots[ index ];
+  }
+
+  public int getSlotCount() {
+    return slotCount;
+  }
+
+  public void columnAdded( int index ) {
+    // the first column takes over the cell of the grid without columns
+    if( columnCount > 0 ) {
+      int insertIndex = index == -1 ? columnCount : index;
+      if( columnCount == slots.length ) {
+        int[] newSlots = new int[ slots.length * 2 ];
+        System.arraycopy( slots, 0, newSlots, 0, columnCount );
+        slots = newSlots;
+      }
+      System.arraycopy( slots, insertIndex, slots, insertIndex + 1, columnCount - insertIndex );
+      slots[ insertIndex ] = slotCount++;
+    }
+    columnCount++;
+  }
+
+  public void columnRemoved( int index ) {
+    // the cell of the last column remains as the cell of the grid without columns
+    if( columnCount > 1 ) {
+      System.arraycopy( slots, index + 1, slots, index, columnCount - index - 1 );
+    }
+    columnCount--;
+  }
+
+  public boolean needsCompaction() {
+    int unusedSlots = slotCount - Math.max( 1, columnCount );
+    return unusedSlots > Math.max( MIN_UNUSED_SLOTS, columnCount );
+  }
+
+  /*
+   * Assigns the slots 0..n-1 to the columns in index order. Returns the new slot for each old
+   * slot or -1 for the slots that are no longer used. The result has to be passed to
+   * GridItemData#moveCells for every item.
+   */
+  public int[] compact() {
+    int[] result = new int[ slotCount ];
+    for( int i = 0; i < slotCount; i++ ) {
+      result[ i ] = -1;
+    }
+    int size = Math.max( 1, columnCount );
+    for( int i = 0; i < size; i++ ) {
+      result[ slots[ i ] ] = i;
+      slots[ i ] = i;
+    }
+    slotCount = size;
+    return result;
+  }
+
+}
@@ -23,6 +23,8 @@ import org.eclipse.swt.internal.SerializableCompatibility;
 @SuppressWarnings( "restriction" )
 public class GridItemData implements SerializableCompatibility {
 
+  private static final CellData DEFAULT_CELL_DATA = new CellData();
+
   public Font defaultFont;
   public Color defaultBackground;
   public Color defaultForeground;
@@ -30,14 +32,11 @@ public class GridItemData implements SerializableCompatibility {
   public boolean expanded;
 
   List<GridItem> children;
-  final List<CellData> cellData;
-
-  public GridItemData( int cells ) {
-    cellData = new ArrayList<CellData>();
-    for( int i = 0; i < Math.max( 1, cells ); i++ ) {
-      cellData.add( null );
-    }
-  }
+  // Holds the cells in a compact form: an empty cell is null, a cell that only has a text is
+  // the text itself. A CellData is only created for cells with further attributes. The cells
+  // are indexed by the slots of the ColumnSlotMap of the grid. The array is created when the
+  // first cell is set.
+  Object[] cells;
 
   public List<GridItem> getChildren() {
     if( children == null ) {
@@ -46,36 +45,115 @@ public class GridItemData implements SerializableCompatibility {
     return children;
   }
 
-  public void addCellData( int index ) {
-    if( index == -1 ) {
-      cellData.add( null );
-    } else {
-      cellData.add( index, null );
+  // called before a cell is set to avoid that the array grows cell by cell
+  public void ensureSlotCount( int slotCount ) {
+    if( cells == null ) {
+      cells = new Object[ slotCount ];
+    } else if( cells.length < slotCount ) {
+      Object[] newCells = new Object[ slotCount ];
+      System.arraycopy( cells, 0, newCells, 0, cells.length );
+      cells = newCells;
     }
   }
 
-  public void removeCellData( int index ) {
-    if( cellData.size() > index ) {
-      cellData.remove( index );
+  public void moveCells( int[] newSlots, int slotCount ) {
+    if( cells != null ) {
+      Object[] newCells = new Object[ slotCount ];
+      for( int i = 0; i < cells.length; i++ ) {
+        if( newSlots[ i ] != -1 ) {
+          newCells[ newSlots[ i ] ] = cells[ i ];
+        }
+      }
+      cells = newCells;
     }
   }
 
-  public CellData getCellData( int index ) {
-    if( cellData.get( index ) == null ) {
-      cellData.set( index, new CellData() );
+  public int getCellSlotCount() {
+    return cells == null ? 0 : cells.length;
+  }
+
+  public int getChildCount() {
+    return children == null ? 0 : children.size();
+  }
+
+  public String getText( int slot ) {
+    Object cell = getCell( slot );
+    String result = "";
+    if( cell instanceof String ) {
+      result = ( String )cell;
+    } else if( cell != null ) {
+      result = ( ( CellData )cell ).text;
     }
-    return cellData.get( index );
+    return result;
   }
 
-  public void clear() {
-    for( int index = 0; index < cellData.size(); index++ ) {
-      cellData.set( index, null );
+  public void setText( int slot, String text ) {
+    Object cell = getCell( slot );
+    if( cell instanceof CellData ) {
+      ( ( CellData )cell ).text = text;
+    } else if( cell != null || text.length() > 0 ) {
+      setCell( slot, text.length() > 0 ? text : null );
     }
+  }
+
+  // returns null if no CellData has been created for the cell
+  public CellData findCellData( int slot ) {
+    Object cell = getCell( slot );
+    return cell instanceof CellData ? ( CellData )cell : null;
+  }
+
+  // returns shared default values if no CellData has been created for the cell, the result
+  // must not be modified, the text has to be read with getText( int )
+  public CellData readCellData( int slot ) {
+    CellData result = findCellData( slot );
+    return result == null ? DEFAULT_CELL_DATA : result;
+  }
+
+  public CellData getCellData( int slot ) {
+    Object cell = getCell( slot );
+    CellData result;
+    if( cell instanceof CellData ) {
+      result = ( CellData )cell;
+    } else {
+      result = new CellData();
+      if( cell != null ) {
+        result.text = ( String )cell;
+      }
+      setCell( slot, result );
+    }
+    return result;
+  }
+
+  public void clear() {
+    cells = null;
     defaultFont = null;
     defaultBackground = null;
     defaultForeground = null;
   }
 
+  private Object getCell( int slot ) {
+    checkSlot( slot );
+    return cells != null && slot < cells.length ? cells[ slot ] : null;
+  }
+
+  private void setCell( int slot, Object cell ) {
+    checkSlot( slot );
+    if( cells == null ) {
+      cells = new Object[ slot + 1 ];
+    } else if( slot >= cells.length ) {
+      Object[] newCells = new Object[ slot + 1 ];
+      System.arraycopy( cells, 0, newCells, 0, cells.length );
+      cells = newCells;
+    }
+    cells[ slot ] = cell;
+  }
+
+  private static void checkSlot( int slot ) {
+    if( slot < 0 ) {
+      throw new IndexOutOfBoundsException( "Slot: " + slot );
+    }
+  }
+
   public static final class CellData implements SerializableCompatibility {
     public Font font;
     public Color background;
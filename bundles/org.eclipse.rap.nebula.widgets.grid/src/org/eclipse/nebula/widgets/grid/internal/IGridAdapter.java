@@ -27,8 +27,27 @@ public interface IGridAdapter {
   int getTextOffset( int index );
   int getTextWidth( int index );
 
+  // item indices and counts without the items that are hidden by a filter
   int getItemIndex( GridItem item );
-  
+  int getRootItemCount();
+  int getItemCount( GridItem item );
+  GridItem[] getAndResetFilteredOutItems();
+
   void doRedraw();
+  int getCoalescedRedrawCount();
+
+  // metrics, see GridMetrics
+  boolean isMetricsEnabled();
+  void startRequestMetrics();
+  void recordRenderedItem( int chars );
+
+  // column virtualization, the rendered columns are updated once per request before the items
+  // are rendered
+  void updateRenderedColumns();
+  boolean isColumnRendered( int index );
+
+  boolean isFrozenColumn( int index );
+  // the client creates the area for frozen columns only together with the grid
+  void markSplitContainerRendered();
 
 }
@@ -54,6 +54,7 @@ public class GridColumnLCA extends AbstractWidgetLCA {
   private static final String PROP_FOOTER_SPAN = "footerSpan";
   private static final String PROP_WORD_WRAP = "wordWrap";
   private static final String PROP_HEADER_WORD_WRAP = "headerWordWrap";
+  private static final String PROP_FIXED = "fixed";
   private static final String PROP_SELECTION_LISTENER = "Selection";
 
   private static final int ZERO = 0;
@@ -92,6 +93,7 @@ public class GridColumnLCA extends AbstractWidgetLCA {
     preserveProperty( column, PROP_FOOTER_SPAN, getFooterSpan( column ) );
     preserveProperty( column, PROP_WORD_WRAP, column.getWordWrap() );
     preserveProperty( column, PROP_HEADER_WORD_WRAP, column.getHeaderWordWrap() );
+    preserveProperty( column, PROP_FIXED, isFixed( column ) );
     preserveListener( column, PROP_SELECTION_LISTENER, isListening( column, SWT.Selection ) );
   }
 
@@ -116,6 +118,7 @@ public class GridColumnLCA extends AbstractWidgetLCA {
     renderProperty( column, PROP_FOOTER_SPAN, getFooterSpan( column ), 1 );
     renderProperty( column, PROP_WORD_WRAP, column.getWordWrap(), false );
     renderProperty( column, PROP_HEADER_WORD_WRAP, column.getHeaderWordWrap(), false );
+    renderProperty( column, PROP_FIXED, isFixed( column ), false );
     renderListener( column, PROP_SELECTION_LISTENER, isListening( column, SWT.Selection ), false );
   }
 
@@ -136,6 +139,10 @@ public class GridColumnLCA extends AbstractWidgetLCA {
     return getGridAdapter( column ).getCellLeft( getIndex( column ) );
   }
 
+  private static boolean isFixed( GridColumn column ) {
+    return getGridAdapter( column ).isFrozenColumn( getIndex( column ) );
+  }
+
   private static String getAlignment( GridColumn column ) {
     int alignment = column.getAlignment();
     String result = "left";
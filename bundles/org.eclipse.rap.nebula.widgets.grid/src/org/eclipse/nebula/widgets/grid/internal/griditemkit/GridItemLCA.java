@@ -21,6 +21,8 @@ import org.eclipse.nebula.widgets.grid.Grid;
 import org.eclipse.nebula.widgets.grid.GridItem;
 import org.eclipse.nebula.widgets.grid.internal.IGridAdapter;
 import org.eclipse.nebula.widgets.grid.internal.IGridItemAdapter;
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.internal.lifecycle.AbstractWidgetLCA;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetAdapter;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil;
@@ -73,7 +75,7 @@ public class GridItemLCA extends AbstractWidgetLCA {
     if( isCached( item ) ) {
       WidgetLCAUtil.preserveCustomVariant( item );
       WidgetLCAUtil.preserveData( item );
-      preserveProperty( item, PROP_ITEM_COUNT, item.getItemCount() );
+      preserveProperty( item, PROP_ITEM_COUNT, getItemCount( item ) );
       preserveProperty( item, PROP_HEIGHT, item.getHeight() );
       preserveProperty( item, PROP_TEXTS, getTexts( item ) );
       preserveProperty( item, PROP_IMAGES, getImages( item ) );
@@ -93,6 +95,10 @@ public class GridItemLCA extends AbstractWidgetLCA {
   @Override
   public void renderChanges( Widget widget ) throws IOException {
     final GridItem item = ( GridItem )widget;
+    IGridAdapter gridAdapter = getGridAdapter( item.getParent() );
+    if( gridAdapter.isMetricsEnabled() ) {
+      gridAdapter.recordRenderedItem( estimatePayloadChars( item ) );
+    }
     renderProperty( item, PROP_INDEX, getItemIndex( item ), -1 );
     if( wasCleared( item ) ) {
       renderClear( item );
@@ -117,7 +123,7 @@ public class GridItemLCA extends AbstractWidgetLCA {
   private static void renderProperties( GridItem item ) {
     WidgetLCAUtil.renderCustomVariant( item );
     WidgetLCAUtil.renderData( item );
-    renderProperty( item, PROP_ITEM_COUNT, item.getItemCount(), ZERO );
+    renderProperty( item, PROP_ITEM_COUNT, getItemCount( item ), ZERO );
     renderProperty( item, PROP_HEIGHT, item.getHeight(), item.getParent().getItemHeight() );
     renderProperty( item, PROP_TEXTS, getTexts( item ), getDefaultTexts( item ) );
     renderProperty( item, PROP_IMAGES, getImages( item ), new Image[ getColumnCount( item ) ] );
@@ -167,6 +173,49 @@ public class GridItemLCA extends AbstractWidgetLCA {
   //////////////////
   // Helping methods
 
+  // Approximates the number of JSON characters that are rendered for the item. Images, colors
+  // and fonts are not taken into account. Only called if metrics are enabled.
+  private static int estimatePayloadChars( GridItem item ) {
+    int result = 0;
+    Integer index = Integer.valueOf( getItemIndex( item ) );
+    if( WidgetLCAUtil.hasChanged( item, PROP_INDEX, index, Integer.valueOf( -1 ) ) ) {
+      result += estimateSize( PROP_INDEX, JsonValue.valueOf( index.intValue() ) );
+    }
+    if( isCached( item ) ) {
+      Integer itemCount = Integer.valueOf( getItemCount( item ) );
+      if( WidgetLCAUtil.hasChanged( item, PROP_ITEM_COUNT, itemCount, Integer.valueOf( ZERO ) ) ) {
+        result += estimateSize( PROP_ITEM_COUNT, JsonValue.valueOf( itemCount.intValue() ) );
+      }
+      String[] texts = getTexts( item );
+      if( WidgetLCAUtil.hasChanged( item, PROP_TEXTS, texts, getDefaultTexts( item ) ) ) {
+        JsonArray array = new JsonArray();
+        for( int i = 0; i < texts.length; i++ ) {
+          array.add( texts[ i ] );
+        }
+        result += estimateSize( PROP_TEXTS, array );
+      }
+      Boolean expanded = Boolean.valueOf( item.isExpanded() );
+      if( WidgetLCAUtil.hasChanged( item, PROP_EXPANDED, expanded, Boolean.FALSE ) ) {
+        result += estimateSize( PROP_EXPANDED, JsonValue.valueOf( expanded.booleanValue() ) );
+      }
+      boolean[] checked = getCellChecked( item );
+      boolean[] defaultChecked = new boolean[ getColumnCount( item ) ];
+      if( WidgetLCAUtil.hasChanged( item, PROP_CELL_CHECKED, checked, defaultChecked ) ) {
+        JsonArray array = new JsonArray();
+        for( int i = 0; i < checked.length; i++ ) {
+          array.add( checked[ i ] );
+        }
+        result += estimateSize( PROP_CELL_CHECKED, array );
+      }
+    }
+    return result;
+  }
+
+  private static int estimateSize( String property, JsonValue value ) {
+    // "property":value,
+    return property.length() + value.toString().length() + 4;
+  }
+
   private static boolean wasCleared( GridItem item ) {
     return !isCached( item ) && wasCached( item );
   }
@@ -196,14 +245,19 @@ public class GridItemLCA extends AbstractWidgetLCA {
     return getGridAdapter( item.getParent() ).getItemIndex( item );
   }
 
+  private static int getItemCount( GridItem item ) {
+    return getGridAdapter( item.getParent() ).getItemCount( item );
+  }
+
   private static boolean isParentDisposed( GridItem item ) {
     return getGridItemAdapter( item ).isParentDisposed();
   }
 
   private static String[] getTexts( GridItem item ) {
+    IGridAdapter gridAdapter = getGridAdapter( item.getParent() );
     String[] result = new String[ getColumnCount( item ) ];
     for( int i = 0; i < result.length; i++ ) {
-      result[ i ] = item.getText( i );
+      result[ i ] = gridAdapter.isColumnRendered( i ) ? item.getText( i ) : "";
     }
     return result;
   }
@@ -217,9 +271,12 @@ public class GridItemLCA extends AbstractWidgetLCA {
   }
 
   private static Image[] getImages( GridItem item ) {
+    IGridAdapter gridAdapter = getGridAdapter( item.getParent() );
     Image[] result = new Image[ getColumnCount( item ) ];
     for( int i = 0; i < result.length; i++ ) {
-      result[ i ] = item.getImage( i );
+      if( gridAdapter.isColumnRendered( i ) ) {
+        result[ i ] = item.getImage( i );
+      }
     }
     return result;
   }
@@ -237,37 +294,50 @@ public class GridItemLCA extends AbstractWidgetLCA {
   }
 
   private static Color[] getCellBackgrounds( GridItem item ) {
-    return getGridItemAdapter( item ).getCellBackgrounds();
+    return skipUnrenderedColumns( item, getGridItemAdapter( item ).getCellBackgrounds() );
   }
 
   private static Color[] getCellForegrounds( GridItem item ) {
-    return getGridItemAdapter( item ).getCellForegrounds();
+    return skipUnrenderedColumns( item, getGridItemAdapter( item ).getCellForegrounds() );
   }
 
   private static Font[] getCellFonts( GridItem item ) {
-    return getGridItemAdapter( item ).getCellFonts();
+    return skipUnrenderedColumns( item, getGridItemAdapter( item ).getCellFonts() );
+  }
+
+  private static <T> T[] skipUnrenderedColumns( GridItem item, T[] values ) {
+    IGridAdapter gridAdapter = getGridAdapter( item.getParent() );
+    for( int i = 0; i < values.length; i++ ) {
+      if( !gridAdapter.isColumnRendered( i ) ) {
+        values[ i ] = null;
+      }
+    }
+    return values;
   }
 
   private static boolean[] getCellChecked( GridItem item ) {
+    IGridAdapter gridAdapter = getGridAdapter( item.getParent() );
     boolean[] result = new boolean[ getColumnCount( item ) ];
     for( int i = 0; i < result.length; i++ ) {
-      result[ i ] = item.getChecked( i );
+      result[ i ] = gridAdapter.isColumnRendered( i ) && item.getChecked( i );
     }
     return result;
   }
 
   private static boolean[] getCellGrayed( GridItem item ) {
+    IGridAdapter gridAdapter = getGridAdapter( item.getParent() );
     boolean[] result = new boolean[ getColumnCount( item ) ];
     for( int i = 0; i < result.length; i++ ) {
-      result[ i ] = item.getGrayed( i );
+      result[ i ] = gridAdapter.isColumnRendered( i ) && item.getGrayed( i );
     }
     return result;
   }
 
   private static boolean[] getCellCheckable( GridItem item ) {
+    IGridAdapter gridAdapter = getGridAdapter( item.getParent() );
     boolean[] result = new boolean[ getColumnCount( item ) ];
     for( int i = 0; i < result.length; i++ ) {
-      result[ i ] = item.getCheckable( i );
+      result[ i ] = !gridAdapter.isColumnRendered( i ) || item.getCheckable( i );
     }
     return result;
   }
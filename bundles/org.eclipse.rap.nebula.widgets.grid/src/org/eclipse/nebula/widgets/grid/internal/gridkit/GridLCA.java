@@ -32,11 +32,14 @@ import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.rwt.internal.lifecycle.AbstractWidgetLCA;
 import org.eclipse.rap.rwt.internal.lifecycle.ControlLCAUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil;
+import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
+import org.eclipse.rap.rwt.internal.remote.RemoteObjectImpl;
 import org.eclipse.rap.rwt.remote.RemoteObject;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.widgets.CellToolTipUtil;
 import org.eclipse.swt.internal.widgets.ICellToolTipAdapter;
 import org.eclipse.swt.internal.widgets.ScrollBarLCAUtil;
+import org.eclipse.swt.internal.widgets.WidgetAdapterImpl;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.ScrollBar;
 import org.eclipse.swt.widgets.Widget;
@@ -84,6 +87,8 @@ public class GridLCA extends AbstractWidgetLCA {
   private static final String PROP_ENABLE_CELL_TOOLTIP = "enableCellToolTip";
   private static final String PROP_CELL_TOOLTIP_TEXT = "cellToolTipText";
   private static final String PROP_MARKUP_ENABLED = "markupEnabled";
+  private static final String PROP_SCROLL_SELECTION_LISTENER = "scrollSelectionListener";
+  private static final String PROP_SCROLLBAR_SELECTION_LISTENER = "Selection";
 
   private static final int ZERO = 0 ;
   private static final String[] DEFAULT_SELECTION = new String[ 0 ];
@@ -101,6 +106,10 @@ public class GridLCA extends AbstractWidgetLCA {
     IGridAdapter adapter = getGridAdapter( grid );
     remoteObject.set( "indentionWidth", adapter.getIndentationWidth() );
     remoteObject.set( PROP_MARKUP_ENABLED, isMarkupEnabledFor( grid ) );
+    if( grid.getFrozenColumnCount() > 0 ) {
+      remoteObject.set( "splitContainer", true );
+      adapter.markSplitContainerRendered();
+    }
     ScrollBarLCAUtil.renderInitialization( grid );
   }
 
@@ -113,9 +122,10 @@ public class GridLCA extends AbstractWidgetLCA {
   @Override
   public void preserveValues( Widget widget ) {
     Grid grid = ( Grid )widget;
+    getGridAdapter( grid ).startRequestMetrics();
     ControlLCAUtil.preserveValues( ( Control )widget );
     WidgetLCAUtil.preserveCustomVariant( grid );
-    preserveProperty( grid, PROP_ITEM_COUNT, grid.getRootItemCount() );
+    preserveProperty( grid, PROP_ITEM_COUNT, getRootItemCount( grid ) );
     preserveProperty( grid, PROP_ITEM_HEIGHT, grid.getItemHeight() );
     preserveProperty( grid, PROP_ITEM_METRICS, getItemMetrics( grid ) );
     preserveProperty( grid, PROP_COLUMN_COUNT, grid.getColumnCount() );
@@ -142,6 +152,7 @@ public class GridLCA extends AbstractWidgetLCA {
     preserveListener( grid, PROP_COLLAPSE_LISTENER, hasCollapseListener( grid ) );
     preserveProperty( grid, PROP_ENABLE_CELL_TOOLTIP, CellToolTipUtil.isEnabledFor( grid ) );
     preserveProperty( grid, PROP_CELL_TOOLTIP_TEXT, null );
+    preserveProperty( grid, PROP_SCROLL_SELECTION_LISTENER, needsScrollSelectionListener( grid ) );
     ScrollBarLCAUtil.preserveValues( grid );
   }
 
@@ -150,7 +161,10 @@ public class GridLCA extends AbstractWidgetLCA {
     Grid grid = ( Grid )widget;
     ControlLCAUtil.renderChanges( grid );
     WidgetLCAUtil.renderCustomVariant( grid );
-    renderProperty( grid, PROP_ITEM_COUNT, grid.getRootItemCount(), ZERO );
+    renderFilteredOutItems( grid );
+    // the items are rendered after the grid, they render the cells of these columns
+    getGridAdapter( grid ).updateRenderedColumns();
+    renderProperty( grid, PROP_ITEM_COUNT, getRootItemCount( grid ), ZERO );
     renderProperty( grid, PROP_ITEM_HEIGHT, grid.getItemHeight(), ZERO );
     renderItemMetrics( grid );
     renderProperty( grid, PROP_COLUMN_COUNT, grid.getColumnCount(), ZERO );
@@ -179,6 +193,7 @@ public class GridLCA extends AbstractWidgetLCA {
     renderProperty( grid, PROP_ENABLE_CELL_TOOLTIP, CellToolTipUtil.isEnabledFor( grid ), false );
     renderProperty( grid, PROP_CELL_TOOLTIP_TEXT, getAndResetCellToolTipText( grid ), null );
     ScrollBarLCAUtil.renderChanges( grid );
+    renderScrollSelectionListener( grid );
   }
 
   @Override
@@ -196,6 +211,62 @@ public class GridLCA extends AbstractWidgetLCA {
     return toolTipText;
   }
 
+  private static int getRootItemCount( Grid grid ) {
+    return getGridAdapter( grid ).getRootItemCount();
+  }
+
+  private static void renderFilteredOutItems( Grid grid ) {
+    // Items that are hidden by a filter are not known to the client. The client disposes the
+    // child items together with their parent, hence they only need to be marked as destroyed.
+    GridItem[] filteredOutItems = getGridAdapter( grid ).getAndResetFilteredOutItems();
+    for( GridItem item : filteredOutItems ) {
+      if( WidgetUtil.getAdapter( item ).isInitialized() ) {
+        getRemoteObject( item ).destroy();
+        setInitialized( item, false );
+        markChildrenDestroyed( item );
+      }
+    }
+  }
+
+  private static void markChildrenDestroyed( GridItem item ) {
+    for( GridItem child : item.getItems() ) {
+      if( WidgetUtil.getAdapter( child ).isInitialized() ) {
+        ( ( RemoteObjectImpl )getRemoteObject( child ) ).markDestroyed();
+        setInitialized( child, false );
+      }
+      markChildrenDestroyed( child );
+    }
+  }
+
+  private static void setInitialized( GridItem item, boolean initialized ) {
+    WidgetAdapterImpl adapter = ( WidgetAdapterImpl )WidgetUtil.getAdapter( item );
+    adapter.setInitialized( initialized );
+  }
+
+  // with column virtualization the client has to notify the server when it scrolls
+  // horizontally, the cells of the columns that become visible are rendered then
+  private static void renderScrollSelectionListener( Grid grid ) {
+    boolean needed = needsScrollSelectionListener( grid );
+    if( WidgetLCAUtil.hasChanged( grid,
+                                  PROP_SCROLL_SELECTION_LISTENER,
+                                  Boolean.valueOf( needed ),
+                                  Boolean.FALSE ) )
+    {
+      ScrollBar horizontalBar = grid.getHorizontalBar();
+      // a listener of the application is rendered by ScrollBarLCAUtil
+      if( needed || !isListening( horizontalBar, SWT.Selection ) ) {
+        getRemoteObject( horizontalBar ).listen( PROP_SCROLLBAR_SELECTION_LISTENER, needed );
+      }
+    }
+  }
+
+  private static boolean needsScrollSelectionListener( Grid grid ) {
+    ScrollBar horizontalBar = grid.getHorizontalBar();
+    return    horizontalBar != null
+           && grid.isColumnVirtualizationEnabled()
+           && !isListening( horizontalBar, SWT.Selection );
+  }
+
   private static boolean listensToSetData( Grid grid ) {
     return ( grid.getStyle() & SWT.VIRTUAL ) != 0;
   }
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.jface.gridviewer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.ViewerCell;
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+@SuppressWarnings( "restriction" )
+public class GridTableViewer_Test {
+
+  private Grid grid;
+  private GridTableViewer viewer;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    Display display = new Display();
+    Shell shell = new Shell( display );
+    grid = new Grid( shell, SWT.MULTI );
+    viewer = new GridTableViewer( grid );
+    viewer.setContentProvider( new ArrayContentProvider() );
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testConcurrentLabels_withoutExecutor() {
+    ConcurrentLabelProvider labelProvider = new ConcurrentLabelProvider();
+    new GridViewerColumn( viewer, SWT.NONE ).setLabelProvider( labelProvider );
+
+    viewer.setInput( createElements( 300 ) );
+
+    assertEquals( "text 299", grid.getItem( 299 ).getText() );
+    assertEquals( 300, labelProvider.updateCount );
+  }
+
+  @Test
+  public void testConcurrentLabels_appliesComputedLabels() {
+    ConcurrentLabelProvider labelProvider = new ConcurrentLabelProvider();
+    new GridViewerColumn( viewer, SWT.NONE ).setLabelProvider( labelProvider );
+    viewer.setLabelExecutor( new DirectExecutor() );
+
+    viewer.setInput( createElements( 300 ) );
+
+    assertEquals( "text 0", grid.getItem( 0 ).getText() );
+    assertEquals( "text 299", grid.getItem( 299 ).getText() );
+    assertEquals( 0, labelProvider.updateCount );
+    assertEquals( 300, labelProvider.textCount );
+  }
+
+  @Test
+  public void testConcurrentLabels_onlyForConcurrentColumns() {
+    ConcurrentLabelProvider labelProvider = new ConcurrentLabelProvider();
+    new GridViewerColumn( viewer, SWT.NONE ).setLabelProvider( labelProvider );
+    new GridViewerColumn( viewer, SWT.NONE ).setLabelProvider( new ColumnLabelProvider() );
+    viewer.setLabelExecutor( new DirectExecutor() );
+
+    viewer.setInput( createElements( 300 ) );
+
+    assertEquals( "text 299", grid.getItem( 299 ).getText( 0 ) );
+    assertEquals( "299", grid.getItem( 299 ).getText( 1 ) );
+    assertEquals( 0, labelProvider.updateCount );
+  }
+
+  @Test
+  public void testIncrementalRefresh_appliesDifference() {
+    List<String> input = createIncrementalInput();
+
+    // d is removed, x is inserted, e moves backward and a moves forward
+    setElements( input, "e", "b", "c", "a", "x" );
+    viewer.refresh();
+
+    assertEquals( "e1 b1 c1 a1 x1", getTexts() );
+  }
+
+  @Test
+  public void testIncrementalRefresh_keepsItems() {
+    List<String> input = createIncrementalInput();
+    GridItem[] items = grid.getItems();
+
+    setElements( input, "e", "b", "c", "a", "x" );
+    viewer.refresh();
+
+    assertEquals( 5, grid.getItemCount() );
+    assertSame( items[ 4 ], grid.getItem( 0 ) );
+    assertSame( items[ 1 ], grid.getItem( 1 ) );
+    assertSame( items[ 2 ], grid.getItem( 2 ) );
+    assertSame( items[ 0 ], grid.getItem( 3 ) );
+    assertTrue( items[ 3 ].isDisposed() );
+  }
+
+  @Test
+  public void testIncrementalRefresh_preservesSelection() {
+    List<String> input = createIncrementalInput();
+    viewer.setSelection( new StructuredSelection( new Object[] { "a", "e" } ) );
+    GridItem[] items = grid.getItems();
+
+    setElements( input, "e", "b", "c", "a", "x" );
+    viewer.refresh();
+
+    assertEquals( 2, grid.getSelectionCount() );
+    assertTrue( grid.isSelected( items[ 0 ] ) );
+    assertTrue( grid.isSelected( items[ 4 ] ) );
+    IStructuredSelection selection = ( IStructuredSelection )viewer.getSelection();
+    assertEquals( 2, selection.size() );
+    assertTrue( selection.toList().containsAll( Arrays.asList( "a", "e" ) ) );
+  }
+
+  @Test
+  public void testIncrementalRefresh_withoutLabelsRelabelsReplacedInstance() {
+    List<String> input = createIncrementalInput();
+    VersionLabelProvider labelProvider = ( VersionLabelProvider )viewer.getLabelProvider();
+
+    labelProvider.version = 2;
+    input.set( 1, new String( "b" ) );
+    viewer.refresh( false );
+
+    assertEquals( "a1 b2 c1 d1 e1", getTexts() );
+  }
+
+  @Test
+  public void testIncrementalRefresh_withLabelsRelabelsAllRows() {
+    List<String> input = createIncrementalInput();
+    VersionLabelProvider labelProvider = ( VersionLabelProvider )viewer.getLabelProvider();
+
+    labelProvider.version = 2;
+    setElements( input, "b", "a", "c", "d", "e" );
+    viewer.refresh();
+
+    assertEquals( "b2 a2 c2 d2 e2", getTexts() );
+  }
+
+  private List<String> createIncrementalInput() {
+    List<String> result = new ArrayList<String>();
+    setElements( result, "a", "b", "c", "d", "e" );
+    viewer.setLabelProvider( new VersionLabelProvider() );
+    viewer.setIncrementalRefresh( true );
+    viewer.setInput( result );
+    return result;
+  }
+
+  private static void setElements( List<String> input, String... elements ) {
+    input.clear();
+    input.addAll( Arrays.asList( elements ) );
+  }
+
+  // the texts of all items, separated by blanks
+  private String getTexts() {
+    StringBuilder result = new StringBuilder();
+    for( GridItem item : grid.getItems() ) {
+      if( result.length() > 0 ) {
+        result.append( ' ' );
+      }
+      result.append( item.getText() );
+    }
+    return result.toString();
+  }
+
+  private static Object[] createElements( int count ) {
+    Object[] result = new Object[ count ];
+    for( int i = 0; i < count; i++ ) {
+      result[ i ] = Integer.valueOf( i );
+    }
+    return result;
+  }
+
+  //////////////////
+  // Helping classes
+
+  private static class ConcurrentLabelProvider
+    extends ColumnLabelProvider
+    implements IConcurrentLabelProvider
+  {
+
+    int textCount;
+    int updateCount;
+
+    @Override
+    public String getText( Object element ) {
+      textCount++;
+      return "text " + element;
+    }
+
+    @Override
+    public void update( ViewerCell cell ) {
+      updateCount++;
+      super.update( cell );
+    }
+  }
+
+  // labels an element with the version of the provider at the time of the update
+  private static class VersionLabelProvider extends LabelProvider {
+
+    int version = 1;
+
+    @Override
+    public String getText( Object element ) {
+      return element + String.valueOf( version );
+    }
+  }
+
+  private static class DirectExecutor implements Executor {
+
+    public void execute( Runnable command ) {
+      command.run();
+    }
+  }
+
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.jface.gridviewer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+@SuppressWarnings( "restriction" )
+public class GridTreeViewer_Test {
+
+  private static final String INPUT = "input";
+
+  private Grid grid;
+  private GridTreeViewer viewer;
+  private Map<Object, String[]> model;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    Display display = new Display();
+    Shell shell = new Shell( display );
+    grid = new Grid( shell, SWT.VIRTUAL | SWT.MULTI );
+    viewer = new GridTreeViewer( grid );
+    model = new HashMap<Object, String[]>();
+    model.put( INPUT, new String[] { "a", "b", "c" } );
+    model.put( "a", new String[] { "a0", "a1" } );
+    viewer.setContentProvider( new LazyTreeContentProvider() );
+    viewer.setLabelProvider( new LabelProvider() );
+    viewer.setInput( INPUT );
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testSetInput_setsRootItemCount() {
+    assertEquals( 3, grid.getRootItemCount() );
+    assertNull( grid.getRootItem( 0 ).getData() );
+  }
+
+  @Test
+  public void testSetData_replacesRootElement() {
+    GridItem item = grid.getRootItem( 1 );
+
+    assertEquals( "b", item.getText() );
+    assertSame( "b", item.getData() );
+  }
+
+  @Test
+  public void testSetData_setsHasChildren() {
+    grid.getRootItem( 0 ).getText();
+    grid.getRootItem( 1 ).getText();
+
+    assertEquals( 1, grid.getRootItem( 0 ).getItemCount() );
+    assertEquals( 0, grid.getRootItem( 1 ).getItemCount() );
+  }
+
+  @Test
+  public void testSetData_replacesChildElement() {
+    grid.getRootItem( 0 ).getText();
+    viewer.setChildCount( "a", 2 );
+
+    GridItem child = grid.getRootItem( 0 ).getItem( 1 );
+
+    assertEquals( "a1", child.getText() );
+    assertSame( "a1", child.getData() );
+  }
+
+  @Test
+  public void testSetChildCount_root() {
+    viewer.setChildCount( INPUT, 5 );
+
+    assertEquals( 5, grid.getRootItemCount() );
+  }
+
+  @Test
+  public void testSetHasChildren_false() {
+    grid.getRootItem( 0 ).getText();
+    viewer.setChildCount( "a", 2 );
+
+    viewer.setHasChildren( "a", false );
+
+    assertEquals( 0, grid.getRootItem( 0 ).getItemCount() );
+  }
+
+  @Test
+  public void testReplace_otherElementDropsChildren() {
+    grid.getRootItem( 0 ).getText();
+    viewer.setChildCount( "a", 2 );
+
+    viewer.replace( INPUT, 0, "x" );
+
+    assertSame( "x", grid.getRootItem( 0 ).getData() );
+    assertEquals( "x", grid.getRootItem( 0 ).getText() );
+    assertEquals( 0, grid.getRootItem( 0 ).getItemCount() );
+  }
+
+  @Test
+  public void testRefresh_recountsRootItems() {
+    model.put( INPUT, new String[] { "a", "b" } );
+
+    viewer.refresh();
+
+    assertEquals( 2, grid.getRootItemCount() );
+  }
+
+  //////////////////
+  // Helping classes
+
+  private class LazyTreeContentProvider implements ILazyTreeContentProvider {
+
+    public void updateElement( Object parent, int index ) {
+      String element = getChildren( parent )[ index ];
+      viewer.replace( parent, index, element );
+      viewer.setHasChildren( element, getChildren( element ).length > 0 );
+    }
+
+    public void updateChildCount( Object element, int currentChildCount ) {
+      viewer.setChildCount( element, getChildren( element ).length );
+    }
+
+    public Object getParent( Object element ) {
+      Object result = null;
+      for( Map.Entry<Object, String[]> entry : model.entrySet() ) {
+        for( String child : entry.getValue() ) {
+          if( child.equals( element ) ) {
+            result = entry.getKey();
+          }
+        }
+      }
+      return result;
+    }
+
+    public void inputChanged( Viewer viewer, Object oldInput, Object newInput ) {
+    }
+
+    public void dispose() {
+    }
+
+    private String[] getChildren( Object element ) {
+      String[] result = model.get( element );
+      return result == null ? new String[ 0 ] : result;
+    }
+  }
+
+}
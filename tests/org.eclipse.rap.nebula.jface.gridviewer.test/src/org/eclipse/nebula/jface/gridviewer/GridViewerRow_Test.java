@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.jface.gridviewer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.jface.viewers.ViewerCell;
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.nebula.widgets.grid.GridColumn;
+import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+@SuppressWarnings( "restriction" )
+public class GridViewerRow_Test {
+
+  private Grid grid;
+  private GridItem[] items;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    Display display = new Display();
+    Shell shell = new Shell( display );
+    grid = new Grid( shell, SWT.NONE );
+    grid.setSize( 200, 200 );
+    grid.setItemHeight( 20 );
+    for( int i = 0; i < 2; i++ ) {
+      new GridColumn( grid, SWT.NONE ).setWidth( 50 );
+    }
+    items = new GridItem[ 3 ];
+    for( int i = 0; i < items.length; i++ ) {
+      items[ i ] = new GridItem( grid, SWT.NONE );
+    }
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testGetCell() {
+    GridViewerRow row = new GridViewerRow( items[ 1 ] );
+
+    ViewerCell cell = row.getCell( new Point( 60, 30 ) );
+
+    assertSame( items[ 1 ], cell.getItem() );
+    assertEquals( 1, cell.getColumnIndex() );
+  }
+
+  @Test
+  public void testGetCell_outsideOfColumns() {
+    GridViewerRow row = new GridViewerRow( items[ 1 ] );
+
+    assertNull( row.getCell( new Point( 150, 30 ) ) );
+  }
+
+  @Test
+  public void testGetCell_outsideOfRow() {
+    GridViewerRow row = new GridViewerRow( items[ 1 ] );
+
+    assertNull( row.getCell( new Point( 10, 50 ) ) );
+  }
+
+  @Test
+  public void testGetCell_withoutColumns() {
+    grid.getColumn( 1 ).dispose();
+    grid.getColumn( 0 ).dispose();
+    GridViewerRow row = new GridViewerRow( items[ 1 ] );
+
+    assertEquals( 0, row.getCell( new Point( 10, 30 ) ).getColumnIndex() );
+    assertNull( row.getCell( new Point( 10, 50 ) ) );
+  }
+
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.jface.gridviewer.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jface.viewers.IElementComparer;
+import org.junit.Test;
+
+
+public class ElementDiff_Test {
+
+  @Test
+  public void testUnchanged() {
+    ElementDiff diff = new ElementDiff( elements( "a", "b" ), elements( "a", "b" ), null );
+
+    assertEquals( 0, diff.getOldIndex( 0 ) );
+    assertEquals( 1, diff.getOldIndex( 1 ) );
+    assertTrue( diff.isStable( 0 ) );
+    assertTrue( diff.isStable( 1 ) );
+  }
+
+  @Test
+  public void testInsert() {
+    ElementDiff diff = new ElementDiff( elements( "a", "b" ), elements( "a", "x", "b" ), null );
+
+    assertEquals( 0, diff.getOldIndex( 0 ) );
+    assertEquals( -1, diff.getOldIndex( 1 ) );
+    assertEquals( 1, diff.getOldIndex( 2 ) );
+    assertTrue( diff.isKept( 0 ) );
+    assertTrue( diff.isKept( 1 ) );
+    assertTrue( diff.isStable( 0 ) );
+    assertFalse( diff.isStable( 1 ) );
+    assertTrue( diff.isStable( 2 ) );
+  }
+
+  @Test
+  public void testInsertIntoEmpty() {
+    ElementDiff diff = new ElementDiff( elements(), elements( "a" ), null );
+
+    assertEquals( -1, diff.getOldIndex( 0 ) );
+    assertFalse( diff.isStable( 0 ) );
+  }
+
+  @Test
+  public void testDelete() {
+    ElementDiff diff = new ElementDiff( elements( "a", "b", "c" ), elements( "a", "c" ), null );
+
+    assertTrue( diff.isKept( 0 ) );
+    assertFalse( diff.isKept( 1 ) );
+    assertTrue( diff.isKept( 2 ) );
+    assertEquals( 0, diff.getOldIndex( 0 ) );
+    assertEquals( 2, diff.getOldIndex( 1 ) );
+    assertTrue( diff.isStable( 0 ) );
+    assertTrue( diff.isStable( 1 ) );
+  }
+
+  @Test
+  public void testDeleteAll() {
+    ElementDiff diff = new ElementDiff( elements( "a", "b" ), elements(), null );
+
+    assertFalse( diff.isKept( 0 ) );
+    assertFalse( diff.isKept( 1 ) );
+  }
+
+  @Test
+  public void testMove() {
+    ElementDiff diff = new ElementDiff( elements( "a", "b", "c" ),
+                                        elements( "c", "a", "b" ),
+                                        null );
+
+    assertEquals( 2, diff.getOldIndex( 0 ) );
+    assertEquals( 0, diff.getOldIndex( 1 ) );
+    assertEquals( 1, diff.getOldIndex( 2 ) );
+    assertFalse( diff.isStable( 0 ) );
+    assertTrue( diff.isStable( 1 ) );
+    assertTrue( diff.isStable( 2 ) );
+  }
+
+  @Test
+  public void testMove_fewestMoves() {
+    ElementDiff diff = new ElementDiff( elements( "a", "b", "c", "d", "e" ),
+                                        elements( "b", "c", "e", "d", "a" ),
+                                        null );
+
+    int stableCount = 0;
+    for( int i = 0; i < 5; i++ ) {
+      if( diff.isStable( i ) ) {
+        stableCount++;
+      }
+    }
+    assertEquals( 3, stableCount );
+    assertTrue( diff.isStable( 0 ) );
+    assertTrue( diff.isStable( 1 ) );
+    assertFalse( diff.isStable( 4 ) );
+  }
+
+  @Test
+  public void testDuplicates_matchedInOrder() {
+    ElementDiff diff = new ElementDiff( elements( "a", "b", "a" ), elements( "a", "a" ), null );
+
+    assertEquals( 0, diff.getOldIndex( 0 ) );
+    assertEquals( 2, diff.getOldIndex( 1 ) );
+    assertFalse( diff.isKept( 1 ) );
+  }
+
+  @Test
+  public void testDuplicates_additionalDuplicateIsInserted() {
+    ElementDiff diff = new ElementDiff( elements( "a" ), elements( "a", "a" ), null );
+
+    assertEquals( 0, diff.getOldIndex( 0 ) );
+    assertEquals( -1, diff.getOldIndex( 1 ) );
+  }
+
+  @Test
+  public void testNullOldElementNeverMatches() {
+    ElementDiff diff = new ElementDiff( new Object[] { null, "a" }, elements( "a" ), null );
+
+    assertEquals( 1, diff.getOldIndex( 0 ) );
+    assertFalse( diff.isKept( 0 ) );
+  }
+
+  @Test
+  public void testEqualInstancesMatch() {
+    ElementDiff diff = new ElementDiff( elements( new String( "a" ) ), elements( "a" ), null );
+
+    assertEquals( 0, diff.getOldIndex( 0 ) );
+  }
+
+  @Test
+  public void testComparer() {
+    IElementComparer comparer = new CaseInsensitiveComparer();
+
+    ElementDiff diff = new ElementDiff( elements( "A", "b" ), elements( "B", "a" ), comparer );
+
+    assertEquals( 1, diff.getOldIndex( 0 ) );
+    assertEquals( 0, diff.getOldIndex( 1 ) );
+    assertTrue( diff.isKept( 0 ) );
+    assertTrue( diff.isKept( 1 ) );
+  }
+
+  @Test
+  public void testWithoutComparer_usesEquals() {
+    ElementDiff diff = new ElementDiff( elements( "A", "b" ), elements( "B", "a" ), null );
+
+    assertEquals( -1, diff.getOldIndex( 0 ) );
+    assertEquals( -1, diff.getOldIndex( 1 ) );
+  }
+
+  private static Object[] elements( Object... elements ) {
+    return elements;
+  }
+
+  //////////////////
+  // Helping classes
+
+  private static class CaseInsensitiveComparer implements IElementComparer {
+
+    public boolean equals( Object element1, Object element2 ) {
+      return ( ( String )element1 ).equalsIgnoreCase( ( String )element2 );
+    }
+
+    public int hashCode( Object element ) {
+      return ( ( String )element ).toLowerCase().hashCode();
+    }
+  }
+
+}
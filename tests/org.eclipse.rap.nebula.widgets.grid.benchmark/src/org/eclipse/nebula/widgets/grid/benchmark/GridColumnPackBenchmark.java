@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.nebula.widgets.grid.GridColumn;
+import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures <code>GridColumn.pack()</code>, which computes the preferred width of all items.
+ * The tree variant packs the tree column of a tree with one level of children.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class GridColumnPackBenchmark {
+
+  @Param( { "10000", "100000", "1000000" } )
+  public int rowCount;
+
+  private Shell shell;
+  private GridColumn column;
+  private GridColumn treeColumn;
+
+  @Setup( Level.Trial )
+  public void setUp() {
+    shell = GridFixture.setUp();
+    Grid grid = GridFixture.createGrid( shell, SWT.MULTI );
+    GridFixture.createItems( grid, rowCount );
+    column = grid.getColumn( 1 );
+    Grid tree = GridFixture.createGrid( shell, SWT.MULTI );
+    for( int i = 0; i < rowCount / 10; i++ ) {
+      GridItem item = new GridItem( tree, SWT.NONE );
+      GridFixture.fillItem( item, i );
+      for( int j = 0; j < 9; j++ ) {
+        GridFixture.fillItem( new GridItem( item, SWT.NONE ), j );
+      }
+      item.setExpanded( true );
+    }
+    treeColumn = tree.getColumn( 0 );
+  }
+
+  @TearDown( Level.Trial )
+  public void tearDown() {
+    GridFixture.tearDown();
+  }
+
+  @Benchmark
+  public int pack() {
+    column.pack();
+    return column.getWidth();
+  }
+
+  @Benchmark
+  public int pack_treeColumn() {
+    treeColumn.pack();
+    return treeColumn.getWidth();
+  }
+
+}
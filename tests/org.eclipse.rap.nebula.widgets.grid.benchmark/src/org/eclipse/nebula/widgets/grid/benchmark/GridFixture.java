@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.benchmark;
+
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.nebula.widgets.grid.GridColumn;
+import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+
+/**
+ * Creates grids in a headless RWT environment. The environment is bound to the calling thread,
+ * hence the benchmark states that use it have to be thread scoped.
+ */
+@SuppressWarnings( "restriction" )
+final class GridFixture {
+
+  static final int COLUMN_COUNT = 5;
+
+  private GridFixture() {
+    // prevent instantiation
+  }
+
+  static Shell setUp() {
+    Fixture.setUp();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    Display display = new Display();
+    Shell shell = new Shell( display );
+    shell.setSize( 800, 600 );
+    return shell;
+  }
+
+  static void tearDown() {
+    Fixture.tearDown();
+  }
+
+  static Grid createGrid( Shell shell, int style ) {
+    Grid grid = new Grid( shell, style | SWT.H_SCROLL | SWT.V_SCROLL );
+    grid.setSize( 800, 600 );
+    grid.setHeaderVisible( true );
+    for( int i = 0; i < COLUMN_COUNT; i++ ) {
+      GridColumn column = new GridColumn( grid, SWT.NONE );
+      column.setText( "Column " + i );
+      column.setWidth( 100 );
+    }
+    return grid;
+  }
+
+  static void createItems( Grid grid, int count ) {
+    for( int i = 0; i < count; i++ ) {
+      fillItem( new GridItem( grid, SWT.NONE ), i );
+    }
+  }
+
+  /**
+   * Creates a chain of <code>depth</code> nested items. Every item of the chain has
+   * <code>leafCount</code> additional children without children.
+   *
+   * @return the root item of the chain
+   */
+  static GridItem createDeepTree( Grid grid, int depth, int leafCount ) {
+    GridItem root = new GridItem( grid, SWT.NONE );
+    fillItem( root, 0 );
+    GridItem parent = root;
+    for( int level = 0; level < depth; level++ ) {
+      for( int i = 0; i < leafCount; i++ ) {
+        fillItem( new GridItem( parent, SWT.NONE ), i );
+      }
+      if( level < depth - 1 ) {
+        GridItem child = new GridItem( parent, SWT.NONE );
+        fillItem( child, level );
+        parent = child;
+      }
+    }
+    return root;
+  }
+
+  static void fillItem( GridItem item, int row ) {
+    for( int column = 0; column < COLUMN_COUNT; column++ ) {
+      item.setText( column, "Item " + row + "-" + column );
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures populating an empty grid. Every iteration starts with a new grid.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class GridItemCreationBenchmark {
+
+  @Param( { "10000", "100000", "1000000" } )
+  public int rowCount;
+
+  private Shell shell;
+  private Grid grid;
+  private Grid virtualGrid;
+
+  @Setup( Level.Iteration )
+  public void setUp() {
+    shell = GridFixture.setUp();
+    grid = GridFixture.createGrid( shell, SWT.MULTI );
+    virtualGrid = GridFixture.createGrid( shell, SWT.MULTI | SWT.VIRTUAL );
+  }
+
+  @TearDown( Level.Iteration )
+  public void tearDown() {
+    GridFixture.tearDown();
+  }
+
+  @Benchmark
+  public Grid createItems() {
+    GridFixture.createItems( grid, rowCount );
+    return grid;
+  }
+
+  @Benchmark
+  public Grid setItemCount() {
+    grid.setItemCount( rowCount );
+    return grid;
+  }
+
+  @Benchmark
+  public Grid setItemCount_virtual() {
+    virtualGrid.setItemCount( rowCount );
+    return virtualGrid;
+  }
+
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures operations that modify all items of a populated grid. As the operations are
+ * destructive, every iteration starts with a newly populated grid.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class GridItemOperationBenchmark {
+
+  @Param( { "10000", "100000", "1000000" } )
+  public int rowCount;
+
+  private Shell shell;
+  private Grid grid;
+
+  @Setup( Level.Iteration )
+  public void setUp() {
+    shell = GridFixture.setUp();
+    grid = GridFixture.createGrid( shell, SWT.MULTI );
+    GridFixture.createItems( grid, rowCount );
+  }
+
+  @TearDown( Level.Iteration )
+  public void tearDown() {
+    GridFixture.tearDown();
+  }
+
+  @Benchmark
+  public Grid removeAll() {
+    grid.removeAll();
+    return grid;
+  }
+
+  @Benchmark
+  public Grid removeRange() {
+    grid.remove( rowCount / 4, rowCount / 2 );
+    return grid;
+  }
+
+  @Benchmark
+  public Grid removeIndices() {
+    int[] indices = new int[ rowCount / 10 ];
+    for( int i = 0; i < indices.length; i++ ) {
+      indices[ i ] = i * 10;
+    }
+    grid.remove( indices );
+    return grid;
+  }
+
+  @Benchmark
+  public Grid selectAll() {
+    grid.selectAll();
+    return grid;
+  }
+
+  @Benchmark
+  public Grid setItemCount_shrink() {
+    grid.setItemCount( rowCount / 2 );
+    return grid;
+  }
+
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Measures the cost of one request for typical user interactions. Every invocation performs
+ * a change on a grid that has already been rendered and runs a complete life cycle, hence the
+ * preserve and render phases of <code>GridLCA</code>, <code>GridItemLCA</code>,
+ * <code>GridColumnLCA</code> and <code>GridColumnGroupLCA</code>.
+ * <p>
+ * Run with the GC profiler (<code>-prof gc</code>) to see the allocation rate per operation.
+ * The <code>main</code> method does that and exports the results as JSON. The size of the
+ * messages is measured separately by {@link GridLCAPayloadBenchmark}, so that reading the
+ * response doesn't add to the measured time and allocations.
+ * </p>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@SuppressWarnings( "restriction" )
+public class GridLCABenchmark {
+
+  @Param( { "1000", "10000", "100000" } )
+  public int rowCount;
+
+  private GridLCAScenario scenario;
+
+  @Setup( Level.Trial )
+  public void setUp() {
+    scenario = new GridLCAScenario( GridFixture.setUp(), rowCount );
+  }
+
+  @TearDown( Level.Trial )
+  public void tearDown() {
+    GridFixture.tearDown();
+  }
+
+  @Benchmark
+  public Grid scroll() {
+    Fixture.fakeNewRequest();
+    scenario.scroll();
+    Fixture.executeLifeCycleFromServerThread();
+    return scenario.getGrid();
+  }
+
+  @Benchmark
+  public Grid editCell() {
+    Fixture.fakeNewRequest();
+    scenario.editCell();
+    Fixture.executeLifeCycleFromServerThread();
+    return scenario.getGrid();
+  }
+
+  @Benchmark
+  public Grid resizeColumn() {
+    Fixture.fakeNewRequest();
+    scenario.resizeColumn();
+    Fixture.executeLifeCycleFromServerThread();
+    return scenario.getGrid();
+  }
+
+  @Benchmark
+  public Grid expandNode() {
+    Fixture.fakeNewRequest();
+    scenario.expandNode();
+    Fixture.executeLifeCycleFromServerThread();
+    return scenario.getGrid();
+  }
+
+  public static void main( String[] args ) throws RunnerException {
+    Options options = new OptionsBuilder()
+      .include( GridLCABenchmark.class.getSimpleName() + "\\." )
+      .addProfiler( GCProfiler.class )
+      .resultFormat( ResultFormatType.JSON )
+      .result( args.length > 0 ? args[ 0 ] : "grid-lca-benchmark.json" )
+      .build();
+    new Runner( options ).run();
+  }
+
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.benchmark;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Reports the size in UTF-8 bytes of the JSON message that is sent to the client for the
+ * interactions of {@link GridLCABenchmark} as the secondary result <code>messageBytes</code>.
+ * Each iteration samples a single request. The time of this benchmark includes reading the
+ * response and is not meaningful, it must not be run with the GC profiler.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 1 )
+@Measurement( iterations = 1 )
+@Fork( 1 )
+@SuppressWarnings( "restriction" )
+public class GridLCAPayloadBenchmark {
+
+  @Param( { "1000", "10000", "100000" } )
+  public int rowCount;
+
+  @Param( {
+    GridLCAScenario.SCROLL,
+    GridLCAScenario.EDIT_CELL,
+    GridLCAScenario.RESIZE_COLUMN,
+    GridLCAScenario.EXPAND_NODE
+  } )
+  public String interaction;
+
+  private GridLCAScenario scenario;
+
+  @State( Scope.Thread )
+  @AuxCounters( AuxCounters.Type.EVENTS )
+  public static class Payload {
+
+    public long messageBytes;
+
+    @Setup( Level.Iteration )
+    public void reset() {
+      messageBytes = 0;
+    }
+  }
+
+  @Setup( Level.Trial )
+  public void setUp() {
+    scenario = new GridLCAScenario( GridFixture.setUp(), rowCount );
+  }
+
+  @TearDown( Level.Trial )
+  public void tearDown() {
+    GridFixture.tearDown();
+  }
+
+  @Benchmark
+  public void render( Payload payload ) throws UnsupportedEncodingException {
+    Fixture.fakeNewRequest();
+    scenario.perform( interaction );
+    Fixture.executeLifeCycleFromServerThread();
+    TestResponse response = ( TestResponse )ContextProvider.getResponse();
+    payload.messageBytes = response.getContent().getBytes( "UTF-8" ).length;
+  }
+
+  public static void main( String[] args ) throws RunnerException {
+    Options options = new OptionsBuilder()
+      .include( GridLCAPayloadBenchmark.class.getSimpleName() )
+      .resultFormat( ResultFormatType.JSON )
+      .result( args.length > 0 ? args[ 0 ] : "grid-lca-payload-benchmark.json" )
+      .build();
+    new Runner( options ).run();
+  }
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.benchmark;
+
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.nebula.widgets.grid.GridColumn;
+import org.eclipse.nebula.widgets.grid.GridColumnGroup;
+import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+
+
+/**
+ * A rendered tree grid with a column group and the typical user interactions on it. Each
+ * interaction only changes the grid, the caller runs the life cycle that renders the change.
+ */
+@SuppressWarnings( "restriction" )
+final class GridLCAScenario {
+
+  static final String SCROLL = "scroll";
+  static final String EDIT_CELL = "editCell";
+  static final String RESIZE_COLUMN = "resizeColumn";
+  static final String EXPAND_NODE = "expandNode";
+
+  private static final int STEP = 97;
+  private static final int CHILD_COUNT = 3;
+
+  private final Grid grid;
+  private final GridColumn column;
+  private int counter;
+
+  GridLCAScenario( Shell shell, int rowCount ) {
+    grid = new Grid( shell, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL );
+    grid.setSize( 800, 600 );
+    grid.setHeaderVisible( true );
+    GridColumnGroup group = new GridColumnGroup( grid, SWT.NONE );
+    group.setText( "Group" );
+    for( int i = 0; i < GridFixture.COLUMN_COUNT; i++ ) {
+      GridColumn gridColumn = i == 0
+                            ? new GridColumn( grid, SWT.NONE )
+                            : new GridColumn( group, SWT.NONE );
+      gridColumn.setText( "Column " + i );
+      gridColumn.setWidth( 100 );
+    }
+    column = grid.getColumn( 1 );
+    for( int i = 0; i < rowCount / ( CHILD_COUNT + 1 ); i++ ) {
+      GridItem item = new GridItem( grid, SWT.NONE );
+      GridFixture.fillItem( item, i );
+      for( int j = 0; j < CHILD_COUNT; j++ ) {
+        GridFixture.fillItem( new GridItem( item, SWT.NONE ), j );
+      }
+    }
+    Fixture.fakeNewRequest();
+    Fixture.executeLifeCycleFromServerThread();
+  }
+
+  Grid getGrid() {
+    return grid;
+  }
+
+  void perform( String interaction ) {
+    if( SCROLL.equals( interaction ) ) {
+      scroll();
+    } else if( EDIT_CELL.equals( interaction ) ) {
+      editCell();
+    } else if( RESIZE_COLUMN.equals( interaction ) ) {
+      resizeColumn();
+    } else if( EXPAND_NODE.equals( interaction ) ) {
+      expandNode();
+    } else {
+      throw new IllegalArgumentException( "Unknown interaction: " + interaction );
+    }
+  }
+
+  void scroll() {
+    counter = ( counter + STEP ) % grid.getRootItemCount();
+    grid.setTopIndex( grid.indexOf( grid.getRootItem( counter ) ) );
+  }
+
+  void editCell() {
+    GridItem item = grid.getItem( grid.getTopIndex() );
+    item.setText( 2, "Edited " + counter++ );
+  }
+
+  void resizeColumn() {
+    column.setWidth( column.getWidth() == 100 ? 120 : 100 );
+  }
+
+  void expandNode() {
+    GridItem item = grid.getRootItem( 0 );
+    item.setExpanded( !item.isExpanded() );
+  }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures complete life cycles of a grid that has already been rendered, i.e. the preserve
+ * and render phases of <code>GridLCA</code> and <code>GridItemLCA</code> for all resolved items.
+ * With the virtual variant only the items that have been scrolled into view are resolved.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@SuppressWarnings( "restriction" )
+public class GridRenderBenchmark {
+
+  private static final int STEP = 7919;
+
+  @Param( { "10000", "100000", "1000000" } )
+  public int rowCount;
+
+  @Param( { "false", "true" } )
+  public boolean virtual;
+
+  private Shell shell;
+  private Grid grid;
+  private int topIndex;
+
+  @Setup( Level.Trial )
+  public void setUp() {
+    shell = GridFixture.setUp();
+    if( virtual ) {
+      grid = GridFixture.createGrid( shell, SWT.MULTI | SWT.VIRTUAL );
+      grid.addListener( SWT.SetData, new Listener() {
+        public void handleEvent( Event event ) {
+          GridFixture.fillItem( ( GridItem )event.item, event.index );
+        }
+      } );
+      grid.setItemCount( rowCount );
+    } else {
+      grid = GridFixture.createGrid( shell, SWT.MULTI );
+      GridFixture.createItems( grid, rowCount );
+    }
+    Fixture.fakeNewRequest();
+    Fixture.executeLifeCycleFromServerThread();
+  }
+
+  @TearDown( Level.Trial )
+  public void tearDown() {
+    GridFixture.tearDown();
+  }
+
+  @Benchmark
+  public Grid renderUnchanged() {
+    Fixture.fakeNewRequest();
+    Fixture.executeLifeCycleFromServerThread();
+    return grid;
+  }
+
+  @Benchmark
+  public Grid renderAfterScroll() {
+    Fixture.fakeNewRequest();
+    topIndex = ( topIndex + STEP ) % rowCount;
+    grid.setTopIndex( topIndex );
+    Fixture.executeLifeCycleFromServerThread();
+    return grid;
+  }
+
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures scrolling in a populated grid. Every invocation scrolls to another top index, which
+ * invalidates the cached top and bottom index.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class GridScrollBenchmark {
+
+  private static final int STEP = 7919;
+
+  @Param( { "10000", "100000", "1000000" } )
+  public int rowCount;
+
+  @Param( { "false", "true" } )
+  public boolean differingHeights;
+
+  private Shell shell;
+  private Grid grid;
+  private int topIndex;
+
+  @Setup( Level.Trial )
+  public void setUp() {
+    shell = GridFixture.setUp();
+    grid = GridFixture.createGrid( shell, SWT.MULTI );
+    GridFixture.createItems( grid, rowCount );
+    if( differingHeights ) {
+      grid.getItem( rowCount / 2 ).setHeight( grid.getItemHeight() * 2 );
+    }
+  }
+
+  @TearDown( Level.Trial )
+  public void tearDown() {
+    GridFixture.tearDown();
+  }
+
+  @Benchmark
+  public int setTopIndex_getTopIndex() {
+    grid.setTopIndex( nextTopIndex() );
+    return grid.getTopIndex();
+  }
+
+  @Benchmark
+  public int setTopIndex_getBottomIndex() {
+    grid.setTopIndex( nextTopIndex() );
+    return grid.getBottomIndex();
+  }
+
+  private int nextTopIndex() {
+    topIndex = ( topIndex + STEP ) % rowCount;
+    return topIndex;
+  }
+
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures expanding and collapsing deep trees. The tree is a chain of <code>depth</code>
+ * nested items; the leaves are distributed evenly over the levels so that the tree contains
+ * about <code>rowCount</code> items.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class GridTreeBenchmark {
+
+  @Param( { "10000", "100000", "1000000" } )
+  public int rowCount;
+
+  @Param( { "10", "100", "1000" } )
+  public int depth;
+
+  private Shell shell;
+  private Grid grid;
+  private GridItem[] chain;
+
+  @Setup( Level.Iteration )
+  public void setUp() {
+    shell = GridFixture.setUp();
+    grid = GridFixture.createGrid( shell, SWT.MULTI );
+    int leafCount = Math.max( 0, rowCount / depth - 1 );
+    GridItem root = GridFixture.createDeepTree( grid, depth, leafCount );
+    chain = new GridItem[ depth ];
+    GridItem item = root;
+    for( int level = 0; level < depth; level++ ) {
+      chain[ level ] = item;
+      if( level < depth - 1 ) {
+        item = item.getItem( item.getItemCount() - 1 );
+      }
+    }
+  }
+
+  @TearDown( Level.Iteration )
+  public void tearDown() {
+    GridFixture.tearDown();
+  }
+
+  @Benchmark
+  public Grid expandTopDown() {
+    for( int level = 0; level < depth; level++ ) {
+      chain[ level ].setExpanded( true );
+    }
+    return grid;
+  }
+
+  @Benchmark
+  public Grid expandBottomUp() {
+    for( int level = depth - 1; level >= 0; level-- ) {
+      chain[ level ].setExpanded( true );
+    }
+    return grid;
+  }
+
+  @Benchmark
+  public Grid expandAndCollapseRoot() {
+    for( int level = depth - 1; level > 0; level-- ) {
+      chain[ level ].setExpanded( true );
+    }
+    chain[ 0 ].setExpanded( true );
+    chain[ 0 ].setExpanded( false );
+    return grid;
+  }
+
+}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid;
+
+import static org.eclipse.nebula.widgets.grid.GridTestUtil.createGridColumns;
+import static org.eclipse.nebula.widgets.grid.GridTestUtil.createGridItems;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+@SuppressWarnings( "restriction" )
+public class GridExporter_Test {
+
+  private Display display;
+  private Shell shell;
+  private Grid grid;
+  private GridExporter exporter;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    Fixture.fakePhase( PhaseId.PROCESS_ACTION );
+    display = new Display();
+    shell = new Shell( display );
+    grid = new Grid( shell, SWT.H_SCROLL | SWT.V_SCROLL );
+    exporter = new GridExporter( grid );
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testCreate_NullGrid() {
+    new GridExporter( null );
+  }
+
+  @Test
+  public void testExport() throws IOException {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 2, 0 );
+    items[ 0 ].setText( 1, "foo" );
+
+    String expected = "col_0,col_1\r\nroot_0,foo\r\nroot_1,\r\n";
+    assertEquals( expected, export() );
+  }
+
+  @Test
+  public void testExport_WithoutHeader() throws IOException {
+    createGridColumns( grid, 2, SWT.NONE );
+    createGridItems( grid, 1, 0 );
+
+    exporter.setHeaderIncluded( false );
+
+    assertEquals( "root_0,\r\n", export() );
+  }
+
+  @Test
+  public void testExport_WithoutColumns() throws IOException {
+    createGridItems( grid, 2, 0 );
+
+    assertEquals( "root_0\r\nroot_1\r\n", export() );
+  }
+
+  @Test
+  public void testExport_WithSubItems() throws IOException {
+    createGridItems( grid, 1, 1 );
+
+    assertEquals( "root_0\r\nroot_0_child_0\r\n", export() );
+  }
+
+  @Test
+  public void testExport_ColumnOrder() throws IOException {
+    createGridColumns( grid, 3, SWT.NONE );
+    grid.setColumnOrder( new int[] { 2, 0, 1 } );
+    exporter.setHeaderIncluded( false );
+    GridItem item = new GridItem( grid, SWT.NONE );
+    item.setText( new String[] { "a", "b", "c" } );
+
+    assertEquals( "c,a,b\r\n", export() );
+  }
+
+  @Test
+  public void testExport_SkipsInvisibleColumns() throws IOException {
+    GridColumn[] columns = createGridColumns( grid, 3, SWT.NONE );
+    columns[ 1 ].setVisible( false );
+
+    assertEquals( "col_0,col_2\r\n", export() );
+  }
+
+  @Test
+  public void testExport_QuotesFields() throws IOException {
+    GridItem item = new GridItem( grid, SWT.NONE );
+
+    item.setText( "a,\"b\"\nc" );
+
+    assertEquals( "\"a,\"\"b\"\"\nc\"\r\n", export() );
+  }
+
+  @Test
+  public void testExport_TabSeparated() throws IOException {
+    createGridColumns( grid, 2, SWT.NONE );
+    exporter.setHeaderIncluded( false );
+    GridItem item = new GridItem( grid, SWT.NONE );
+
+    item.setText( new String[] { "a,b", "c\td" } );
+
+    exporter.setSeparator( '\t' );
+    assertEquals( "a,b\t\"c\td\"\r\n", export() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetSeparator_Quote() {
+    exporter.setSeparator( '"' );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetBufferSize_Zero() {
+    exporter.setBufferSize( 0 );
+  }
+
+  @Test
+  public void testExport_SmallBuffer() throws IOException {
+    createGridItems( grid, 100, 0 );
+
+    exporter.setBufferSize( 1 );
+
+    assertEquals( 100, export().split( "\r\n" ).length );
+  }
+
+  @Test
+  public void testExport_VirtualWithRowSource() throws IOException {
+    grid = new Grid( shell, SWT.VIRTUAL );
+    grid.setItemCount( 3 );
+    grid.addListener( SWT.SetData, new Listener() {
+      public void handleEvent( Event event ) {
+        throw new IllegalStateException( "Unexpected SetData event" );
+      }
+    } );
+    exporter = new GridExporter( grid );
+
+    exporter.setRowSource( new IGridRowSource() {
+      public String getText( int index, int column ) {
+        return index == 1 ? null : "row_" + index;
+      }
+    } );
+
+    assertEquals( "row_0\r\n\r\nrow_2\r\n", export() );
+    assertFalse( grid.getItem( 0 ).isCached() );
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+    assertEquals( 0, footprint.getItemDataCount() );
+  }
+
+  @Test
+  public void testExport_VirtualUsesTextsOfMaterializedItems() throws IOException {
+    grid = new Grid( shell, SWT.VIRTUAL );
+    grid.setItemCount( 2 );
+    grid.getItem( 1 ).setText( "foo" );
+    exporter = new GridExporter( grid );
+
+    exporter.setRowSource( new IGridRowSource() {
+      public String getText( int index, int column ) {
+        return "row_" + index;
+      }
+    } );
+
+    assertEquals( "row_0\r\nfoo\r\n", export() );
+  }
+
+  @Test
+  public void testExport_VirtualWithoutRowSource() throws IOException {
+    grid = new Grid( shell, SWT.VIRTUAL );
+    grid.setItemCount( 2 );
+    grid.addListener( SWT.SetData, new Listener() {
+      public void handleEvent( Event event ) {
+        ( ( GridItem )event.item ).setText( "item_" + event.index );
+      }
+    } );
+    exporter = new GridExporter( grid );
+
+    assertEquals( "item_0\r\nitem_1\r\n", export() );
+  }
+
+  @Test
+  public void testExport_ToStream() throws IOException {
+    new GridItem( grid, SWT.NONE ).setText( "\u00e4" );
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+    exporter.export( stream, "UTF-8" );
+
+    assertEquals( "\u00e4\r\n", stream.toString( "UTF-8" ) );
+  }
+
+  private String export() throws IOException {
+    StringWriter writer = new StringWriter();
+    exporter.export( writer );
+    return writer.toString();
+  }
+
+}
@@ -15,6 +15,7 @@ import static org.eclipse.nebula.widgets.grid.GridTestUtil.createGridItems;
 import static org.eclipse.nebula.widgets.grid.GridTestUtil.loadImage;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -149,6 +150,48 @@ public class GridItem_Test {
     assertEquals( 9, grid.getItem( 0 ).getItemCount() );
   }
 
+  @Test
+  public void testSetItemCount_MoreItems() {
+    GridItem[] items = createGridItems( grid, 2, 2 );
+
+    items[ 0 ].setItemCount( 5 );
+
+    assertEquals( 5, items[ 0 ].getItemCount() );
+    assertEquals( 9, grid.getItemCount() );
+    assertSame( items[ 3 ], grid.getItem( 6 ) );
+  }
+
+  @Test
+  public void testSetItemCount_LessItems() {
+    GridItem[] items = createGridItems( grid, 1, 5 );
+
+    items[ 0 ].setItemCount( 2 );
+
+    assertEquals( 2, items[ 0 ].getItemCount() );
+    assertEquals( 3, grid.getItemCount() );
+    assertTrue( items[ 3 ].isDisposed() );
+  }
+
+  @Test
+  public void testSetItemCount_Zero() {
+    GridItem[] items = createGridItems( grid, 1, 5 );
+
+    items[ 0 ].setItemCount( 0 );
+
+    assertFalse( items[ 0 ].hasChildren() );
+    assertEquals( 1, grid.getItemCount() );
+  }
+
+  @Test
+  public void testSetItemCount_NewItemsAreVirtual() {
+    grid = new Grid( shell, SWT.VIRTUAL );
+    GridItem item = new GridItem( grid, SWT.NONE );
+
+    item.setItemCount( 3 );
+
+    assertFalse( item.getItem( 1 ).isCached() );
+  }
+
   @Test
   public void testGetItems() {
     GridItem[] items = createGridItems( grid, 1, 10 );
@@ -268,6 +311,48 @@ public class GridItem_Test {
     assertEquals( 1, items[ 1 ].getLevel() );
   }
 
+  @Test
+  public void testGetLevel_deepTree() {
+    GridItem item = new GridItem( grid, SWT.NONE );
+    for( int i = 0; i < 20; i++ ) {
+      item = new GridItem( item, SWT.NONE );
+    }
+
+    assertEquals( 20, item.getLevel() );
+    assertEquals( 19, item.getParentItem().getLevel() );
+  }
+
+  @Test
+  public void testGetters_doNotAllocateCellData() {
+    createGridColumns( grid, 3, SWT.NONE );
+    GridItem item = new GridItem( grid, SWT.NONE );
+
+    for( int i = 0; i < 3; i++ ) {
+      assertEquals( "", item.getText( i ) );
+      assertNull( item.getImage( i ) );
+      assertFalse( item.getChecked( i ) );
+      assertNull( item.getToolTipText( i ) );
+      assertNotNull( item.getBackground( i ) );
+    }
+
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+    assertEquals( 0, footprint.getCellDataCount() );
+  }
+
+  @Test
+  public void testSetText_allocatesOnlyChangedCell() {
+    createGridColumns( grid, 3, SWT.NONE );
+    GridItem item = new GridItem( grid, SWT.NONE );
+
+    item.setText( 1, "foo" );
+
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+    assertEquals( 0, footprint.getCellDataCount() );
+    assertEquals( 1, footprint.getStringCount() );
+    assertTrue( footprint.getColumnSize( 1 ) > 0 );
+    assertEquals( 0, footprint.getColumnSize( 0 ) );
+  }
+
   @Test
   public void testSetExpanded() {
     GridItem[] items = createGridItems( grid, 1, 1 );
@@ -426,6 +511,38 @@ public class GridItem_Test {
     assertEquals( "foo", item.getText( 0 ) );
   }
 
+  @Test
+  public void testGetText_AfterRemoveManyColumns() {
+    GridItem item = new GridItem( grid, SWT.NONE );
+    GridColumn[] columns = createGridColumns( grid, 30, SWT.NONE );
+    for( int i = 0; i < columns.length; i++ ) {
+      item.setText( i, "foo" + i );
+    }
+
+    for( int i = 0; i < columns.length; i++ ) {
+      if( i % 3 != 2 ) {
+        columns[ i ].dispose();
+      }
+    }
+
+    assertEquals( 10, grid.getColumnCount() );
+    for( int i = 0; i < grid.getColumnCount(); i++ ) {
+      assertEquals( "foo" + ( 3 * i + 2 ), item.getText( i ) );
+    }
+  }
+
+  @Test
+  public void testGetText_AfterRemoveAndAddColumns() {
+    GridItem item = new GridItem( grid, SWT.NONE );
+    GridColumn[] columns = createGridColumns( grid, 3, SWT.NONE );
+    item.setText( 2, "foo" );
+
+    columns[ 2 ].dispose();
+    new GridColumn( grid, SWT.NONE );
+
+    assertEquals( "", item.getText( 2 ) );
+  }
+
   @Test( expected = IndexOutOfBoundsException.class )
   public void testSetText_InvalidColumn() {
     GridItem item = new GridItem( grid, SWT.NONE );
@@ -28,7 +28,9 @@ import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.nebula.widgets.grid.internal.IGridAdapter;
 import org.eclipse.nebula.widgets.grid.internal.NullScrollBarProxy;
@@ -71,6 +73,7 @@ public class Grid_Test {
   private ScrollBar verticalBar;
   private ScrollBar horizontalBar;
   private List<Event> eventLog;
+  private final FakeClock clock = new FakeClock();
 
   @Before
   public void setUp() {
@@ -252,6 +255,149 @@ public class Grid_Test {
     assertNull( grid.getItem( new Point( 10, 20 ) ) );
   }
 
+  @Test
+  public void testGetItemByPoint_BelowLastItem() {
+    grid.setItemHeight( 20 );
+    createGridItems( grid, 3, 0 );
+
+    assertNull( grid.getItem( new Point( 10, 70 ) ) );
+  }
+
+  @Test
+  public void testGetItemByPoint_Scrolled() {
+    grid.setItemHeight( 20 );
+    GridItem[] items = createGridItems( grid, 20, 0 );
+
+    grid.setTopIndex( 5 );
+
+    assertSame( items[ 7 ], grid.getItem( new Point( 10, 50 ) ) );
+  }
+
+  @Test
+  public void testGetItemByPoint_WithCollapsedItems() {
+    grid.setItemHeight( 20 );
+    GridItem[] items = createGridItems( grid, 3, 3 );
+    items[ 4 ].setExpanded( true );
+
+    assertSame( items[ 4 ], grid.getItem( new Point( 10, 30 ) ) );
+    assertSame( items[ 5 ], grid.getItem( new Point( 10, 50 ) ) );
+    assertSame( items[ 8 ], grid.getItem( new Point( 10, 110 ) ) );
+  }
+
+  @Test
+  public void testGetItemByPoint_WithDifferingHeights() {
+    grid.setItemHeight( 20 );
+    GridItem[] items = createGridItems( grid, 5, 0 );
+
+    items[ 1 ].setHeight( 50 );
+
+    assertSame( items[ 1 ], grid.getItem( new Point( 10, 65 ) ) );
+    assertSame( items[ 2 ], grid.getItem( new Point( 10, 75 ) ) );
+  }
+
+  @Test
+  public void testGetItemByPoint_AfterHeightChange() {
+    grid.setItemHeight( 20 );
+    GridItem[] items = createGridItems( grid, 5, 0 );
+    grid.getItem( new Point( 10, 50 ) );
+
+    grid.setItemHeight( 10 );
+
+    assertSame( items[ 4 ], grid.getItem( new Point( 10, 45 ) ) );
+  }
+
+  @Test
+  public void testGetItemByPoint_DoesNotResolveVirtualItems() {
+    grid = new Grid( shell, SWT.VIRTUAL );
+    grid.setSize( 200, 200 );
+    grid.setItemCount( 10 );
+
+    grid.getItem( new Point( 10, 50 ) );
+
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+    assertEquals( 0, footprint.getItemDataCount() );
+  }
+
+  @Test
+  public void testGetColumnByPoint() {
+    GridColumn[] columns = createGridColumns( grid, 3, SWT.NONE );
+
+    assertSame( columns[ 0 ], grid.getColumn( new Point( 10, 10 ) ) );
+    assertSame( columns[ 1 ], grid.getColumn( new Point( 30, 10 ) ) );
+    assertSame( columns[ 2 ], grid.getColumn( new Point( 70, 10 ) ) );
+    assertNull( grid.getColumn( new Point( 130, 10 ) ) );
+  }
+
+  @Test
+  public void testGetColumnByPoint_WithColumnOrder() {
+    GridColumn[] columns = createGridColumns( grid, 3, SWT.NONE );
+
+    grid.setColumnOrder( new int[] { 2, 0, 1 } );
+
+    assertSame( columns[ 2 ], grid.getColumn( new Point( 50, 10 ) ) );
+    assertSame( columns[ 0 ], grid.getColumn( new Point( 70, 10 ) ) );
+  }
+
+  @Test
+  public void testGetColumnByPoint_WithInvisibleColumn() {
+    GridColumn[] columns = createGridColumns( grid, 3, SWT.NONE );
+
+    columns[ 0 ].setVisible( false );
+
+    assertSame( columns[ 1 ], grid.getColumn( new Point( 10, 10 ) ) );
+  }
+
+  @Test
+  public void testGetColumnByPoint_Scrolled() {
+    GridColumn[] columns = createGridColumns( grid, 5, SWT.NONE );
+    createGridItems( grid, 1, 0 );
+
+    horizontalBar.setSelection( 60 );
+
+    assertSame( columns[ 2 ], grid.getColumn( new Point( 10, 10 ) ) );
+    assertSame( columns[ 3 ], grid.getColumn( new Point( 70, 10 ) ) );
+  }
+
+  @Test
+  public void testGetColumnByPoint_ScrolledWithFrozenColumn() {
+    GridColumn[] columns = createGridColumns( grid, 5, SWT.NONE );
+    createGridItems( grid, 1, 0 );
+    grid.setFrozenColumnCount( 1 );
+
+    horizontalBar.setSelection( 60 );
+
+    assertSame( columns[ 0 ], grid.getColumn( new Point( 10, 10 ) ) );
+    assertSame( columns[ 2 ], grid.getColumn( new Point( 30, 10 ) ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testGetColumnByPoint_NullArgument() {
+    grid.getColumn( ( Point )null );
+  }
+
+  @Test
+  public void testGetCell() {
+    grid.setItemHeight( 20 );
+    createGridColumns( grid, 3, SWT.NONE );
+    createGridItems( grid, 5, 0 );
+
+    assertEquals( new Point( 1, 2 ), grid.getCell( new Point( 30, 50 ) ) );
+  }
+
+  @Test
+  public void testGetCell_OutsideOfColumns() {
+    grid.setItemHeight( 20 );
+    createGridColumns( grid, 3, SWT.NONE );
+    createGridItems( grid, 5, 0 );
+
+    assertNull( grid.getCell( new Point( 150, 50 ) ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testGetCell_NullArgument() {
+    grid.getCell( null );
+  }
+
   @Test
   public void testIndexOf() {
     GridItem[] items = createGridItems( grid, 3, 1 );
@@ -283,6 +429,27 @@ public class Grid_Test {
     assertEquals( 2, grid.indexOf( items[ 4 ] ) );
   }
 
+  @Test
+  public void testIndexOf_AfterInsert() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+
+    GridItem item = new GridItem( grid, SWT.NONE, 1 );
+
+    assertEquals( 0, grid.indexOf( items[ 0 ] ) );
+    assertEquals( 1, grid.indexOf( item ) );
+    assertEquals( 2, grid.indexOf( items[ 1 ] ) );
+    assertEquals( 3, grid.indexOf( items[ 2 ] ) );
+  }
+
+  @Test
+  public void testIndexOf_WithSubItems() {
+    GridItem[] items = createGridItems( grid, 3, 2 );
+
+    assertEquals( 3, grid.indexOf( items[ 3 ] ) );
+    assertEquals( 5, grid.indexOf( items[ 5 ] ) );
+    assertEquals( 8, grid.indexOf( items[ 8 ] ) );
+  }
+
   @Test
   public void testGetColumnCount() {
     createGridColumns( grid, 5, SWT.NONE );
@@ -2564,6 +2731,112 @@ public class Grid_Test {
     assertFalse( grid.isShown( items[ 14 ] ) );
   }
 
+  @Test
+  public void testGetCellBounds() {
+    grid.setItemHeight( 20 );
+    createGridColumns( grid, 3, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 3 );
+
+    assertEquals( new Rectangle( 20, 20, 40, 20 ), grid.getCellBounds( items[ 4 ], 1 ) );
+  }
+
+  @Test
+  public void testGetCellBounds_HiddenItem() {
+    grid.setItemHeight( 20 );
+    createGridColumns( grid, 3, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 20, 3 );
+    grid.setTopIndex( 12 );
+
+    Rectangle expected = new Rectangle( -1000, -1000, 0, 0 );
+    assertEquals( expected, grid.getCellBounds( items[ 8 ], 0 ) );
+  }
+
+  @Test
+  public void testGetCellBounds_WithExpandedItems() {
+    grid.setItemHeight( 20 );
+    createGridColumns( grid, 3, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 20, 3 );
+    items[ 4 ].setExpanded( true );
+    grid.setTopIndex( 4 );
+
+    assertEquals( new Rectangle( 0, 80, 20, 20 ), grid.getCellBounds( items[ 8 ], 0 ) );
+  }
+
+  @Test
+  public void testGetCellBounds_WithDifferingHeights() {
+    grid.setItemHeight( 20 );
+    createGridColumns( grid, 3, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 5, 0 );
+
+    items[ 1 ].setHeight( 50 );
+
+    assertEquals( new Rectangle( 0, 20, 20, 50 ), grid.getCellBounds( items[ 1 ], 0 ) );
+    assertEquals( new Rectangle( 0, 70, 20, 20 ), grid.getCellBounds( items[ 2 ], 0 ) );
+  }
+
+  @Test
+  public void testGetCellBounds_AfterColumnWidthChange() {
+    grid.setItemHeight( 20 );
+    GridColumn[] columns = createGridColumns( grid, 3, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    grid.getCellBounds( items[ 0 ], 2 );
+
+    columns[ 0 ].setWidth( 50 );
+
+    assertEquals( new Rectangle( 90, 0, 60, 20 ), grid.getCellBounds( items[ 0 ], 2 ) );
+  }
+
+  @Test
+  public void testGetCellBounds_AfterColumnOrderChange() {
+    grid.setItemHeight( 20 );
+    createGridColumns( grid, 3, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    grid.getCellBounds( items[ 0 ], 2 );
+
+    grid.setColumnOrder( new int[] { 2, 0, 1 } );
+
+    assertEquals( new Rectangle( 0, 0, 60, 20 ), grid.getCellBounds( items[ 0 ], 2 ) );
+  }
+
+  @Test
+  public void testGetCellBounds_AfterHidingColumn() {
+    grid.setItemHeight( 20 );
+    GridColumn[] columns = createGridColumns( grid, 3, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    grid.getCellBounds( items[ 0 ], 2 );
+
+    columns[ 1 ].setVisible( false );
+
+    assertEquals( new Rectangle( 20, 0, 60, 20 ), grid.getCellBounds( items[ 0 ], 2 ) );
+  }
+
+  @Test
+  public void testGetCellBounds_ScrolledWithFrozenColumn() {
+    grid.setItemHeight( 20 );
+    createGridColumns( grid, 5, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    grid.setFrozenColumnCount( 1 );
+
+    horizontalBar.setSelection( 60 );
+
+    assertEquals( new Rectangle( 0, 0, 20, 20 ), grid.getCellBounds( items[ 0 ], 0 ) );
+    assertEquals( new Rectangle( 0, 0, 60, 20 ), grid.getCellBounds( items[ 0 ], 2 ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testGetCellBounds_NullItem() {
+    grid.getCellBounds( null, 0 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testGetCellBounds_ItemOfOtherGrid() {
+    createGridColumns( grid, 1, SWT.NONE );
+    Grid otherGrid = new Grid( shell, SWT.NONE );
+    GridItem item = new GridItem( otherGrid, SWT.NONE );
+
+    grid.getCellBounds( item, 0 );
+  }
+
   @Test
   public void testGetAdapter_IGridAdapter() {
     assertNotNull( grid.getAdapter( IGridAdapter.class ) );
@@ -2715,6 +2988,61 @@ public class Grid_Test {
     assertEquals( 10, grid.getBottomIndex() );
   }
 
+  @Test
+  public void testGetBottomIndex_TreeWithSameItemHeight() {
+    GridItem[] items = createGridItems( grid, 20, 3 );
+    items[ 4 ].setExpanded( true );
+
+    grid.setTopIndex( 4 );
+
+    assertEquals( 20, grid.getBottomIndex() );
+  }
+
+  @Test
+  public void testGetBottomIndex_TreeWithLastItemExpanded() {
+    GridItem[] items = createGridItems( grid, 3, 3 );
+
+    items[ 8 ].setExpanded( true );
+
+    assertEquals( 11, grid.getBottomIndex() );
+  }
+
+  @Test
+  public void testGetTopIndex_TreeWithExpandedItem() {
+    GridItem[] items = createGridItems( grid, 20, 3 );
+    items[ 4 ].setExpanded( true );
+
+    grid.setTopIndex( 12 );
+
+    assertEquals( 12, grid.getTopIndex() );
+    assertEquals( 6, verticalBar.getSelection() );
+  }
+
+  @Test
+  public void testIsShown_TreeWithExpandedItem() {
+    GridItem[] items = createGridItems( grid, 20, 3 );
+    items[ 4 ].setExpanded( true );
+
+    grid.setTopIndex( 4 );
+
+    assertTrue( grid.isShown( items[ 6 ] ) );
+    assertTrue( grid.isShown( items[ 16 ] ) );
+    assertFalse( grid.isShown( items[ 20 ] ) );
+    assertFalse( grid.isShown( items[ 0 ] ) );
+  }
+
+  @Test
+  public void testIsShown_AfterCollapse() {
+    GridItem[] items = createGridItems( grid, 20, 3 );
+    items[ 4 ].setExpanded( true );
+    grid.setTopIndex( 4 );
+    grid.isShown( items[ 20 ] );
+
+    items[ 4 ].setExpanded( false );
+
+    assertTrue( grid.isShown( items[ 20 ] ) );
+  }
+
   @Test
   public void testMarkupTextWithoutMarkupEnabled() {
     grid.setData( RWT.MARKUP_ENABLED, Boolean.FALSE );
@@ -2944,34 +3272,984 @@ public class Grid_Test {
     assertFalse( grid.layoutCache.hasFooterHeight() );
   }
 
-  //////////////////
-  // Helping methods
+  @Test
+  public void testSort_rootItems() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
 
-  private int countResolvedGridItems() {
-    int counter = 0;
-    Item[] items = ItemHolder.getItemHolder( grid ).getItems();
-    for( Item item : items ) {
-      if( item instanceof GridItem ) {
-        counter++;
-      }
-    }
-    return counter;
+    grid.sort( new ReverseTextComparator() );
+
+    assertSame( items[ 2 ], grid.getItem( 0 ) );
+    assertSame( items[ 1 ], grid.getItem( 1 ) );
+    assertSame( items[ 0 ], grid.getItem( 2 ) );
+    assertSame( items[ 2 ], grid.getRootItem( 0 ) );
+    assertEquals( 0, grid.getRootItem( 0 ).index );
+    assertEquals( 2, grid.getRootItem( 2 ).index );
   }
 
-  private void doFakeRedraw() {
-    grid.getAdapter( IGridAdapter.class ).doRedraw();
+  @Test
+  public void testSort_childItems() {
+    GridItem[] items = createGridItems( grid, 2, 2 );
+
+    grid.sort( new ReverseTextComparator() );
+
+    GridItem[] expected = new GridItem[] {
+      items[ 3 ], items[ 5 ], items[ 4 ], items[ 0 ], items[ 2 ], items[ 1 ]
+    };
+    assertArrayEquals( expected, grid.getItems() );
+    assertSame( items[ 5 ], items[ 3 ].getItem( 0 ) );
+    assertEquals( 0, items[ 3 ].indexOf( items[ 5 ] ) );
   }
 
-  private void fakeCellPadding( Grid grid, Rectangle padding ) {
-    grid.layoutCache.cellPadding = padding;
+  @Test
+  public void testSort_isStable() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    items[ 1 ].setText( "root_0" );
+
+    grid.sort( new ReverseTextComparator() );
+
+    assertSame( items[ 2 ], grid.getItem( 0 ) );
+    assertSame( items[ 0 ], grid.getItem( 1 ) );
+    assertSame( items[ 1 ], grid.getItem( 2 ) );
   }
 
-  private int getCheckBoxOffset( int index ) {
-    return grid.getAdapter( IGridAdapter.class ).getCheckBoxOffset( index );
+  @Test
+  public void testSort_preservesSelection() {
+    grid = new Grid( shell, SWT.MULTI );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    grid.setSelection( new int[] { 0, 1 } );
+
+    grid.sort( new ReverseTextComparator() );
+
+    assertTrue( grid.isSelected( items[ 0 ] ) );
+    assertTrue( grid.isSelected( items[ 1 ] ) );
+    assertFalse( grid.isSelected( items[ 2 ] ) );
+    assertArrayEquals( new int[] { 2, 1 }, grid.getSelectionIndices() );
   }
 
-  //////////////////
-  // Helping classes
+  @Test( expected = IllegalArgumentException.class )
+  public void testSort_nullComparator() {
+    grid.sort( null );
+  }
+
+  @Test
+  public void testSetFilter_hidesRejectedItems() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+
+    grid.setFilter( new TextFilter( "root_1" ) );
+
+    assertTrue( items[ 0 ].isVisible() );
+    assertFalse( items[ 1 ].isVisible() );
+    assertTrue( items[ 2 ].isVisible() );
+    assertEquals( 3, grid.getItemCount() );
+    assertFalse( items[ 1 ].isDisposed() );
+  }
+
+  @Test
+  public void testSetFilter_hidesChildrenOfRejectedItem() {
+    GridItem[] items = createGridItems( grid, 2, 2 );
+    items[ 0 ].setExpanded( true );
+
+    grid.setFilter( new TextFilter( "root_0" ) );
+
+    assertFalse( items[ 1 ].isVisible() );
+    assertFalse( items[ 2 ].isVisible() );
+    assertTrue( items[ 3 ].isVisible() );
+  }
+
+  @Test
+  public void testSetFilter_null() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    grid.setFilter( new TextFilter( "root_1" ) );
+
+    grid.setFilter( null );
+
+    assertTrue( items[ 1 ].isVisible() );
+    assertNull( grid.getFilter() );
+  }
+
+  @Test
+  public void testSetFilter_removesHiddenItemsFromSelection() {
+    grid = new Grid( shell, SWT.MULTI );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    grid.selectAll();
+
+    grid.setFilter( new TextFilter( "root_1" ) );
+
+    assertArrayEquals( new GridItem[] { items[ 0 ], items[ 2 ] }, grid.getSelection() );
+  }
+
+  @Test
+  public void testSetFilter_removesChildrenOfHiddenItemsFromSelection() {
+    grid = new Grid( shell, SWT.MULTI );
+    GridItem[] items = createGridItems( grid, 2, 2 );
+    items[ 3 ].setExpanded( true );
+    grid.selectAll();
+    grid.setFocusItem( items[ 5 ] );
+
+    grid.setFilter( new TextFilter( "root_1" ) );
+
+    assertArrayEquals( new GridItem[] { items[ 0 ], items[ 1 ], items[ 2 ] },
+                       grid.getSelection() );
+    assertNull( grid.getFocusItem() );
+  }
+
+  @Test
+  public void testSetFilter_removesItemHiddenOnSetTextFromSelection() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    grid.setFilter( new TextFilter( "root_1" ) );
+    grid.select( 2 );
+
+    items[ 2 ].setText( "root_1" );
+
+    assertEquals( 0, grid.getSelectionCount() );
+  }
+
+  @Test
+  public void testSetFilter_reevaluatesItemOnSetText() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    grid.setFilter( new TextFilter( "root_1" ) );
+
+    items[ 1 ].setText( "foo" );
+    items[ 2 ].setText( "root_1" );
+
+    assertTrue( items[ 1 ].isVisible() );
+    assertFalse( items[ 2 ].isVisible() );
+  }
+
+  @Test
+  public void testSetFilter_getItemIndexSkipsHiddenItems() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    IGridAdapter adapter = grid.getAdapter( IGridAdapter.class );
+
+    grid.setFilter( new TextFilter( "root_1" ) );
+
+    assertEquals( 0, adapter.getItemIndex( items[ 0 ] ) );
+    assertEquals( 1, adapter.getItemIndex( items[ 2 ] ) );
+    assertEquals( 2, adapter.getRootItemCount() );
+  }
+
+  @Test
+  public void testSetFilter_getAndResetFilteredOutItems() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    IGridAdapter adapter = grid.getAdapter( IGridAdapter.class );
+
+    grid.setFilter( new TextFilter( "root_1" ) );
+
+    assertArrayEquals( new GridItem[] { items[ 1 ] }, adapter.getAndResetFilteredOutItems() );
+    assertEquals( 0, adapter.getAndResetFilteredOutItems().length );
+  }
+
+  @Test
+  public void testMoveTo_rootItemDown() {
+    GridItem[] items = createGridItems( grid, 4, 0 );
+
+    items[ 0 ].moveTo( 2 );
+
+    GridItem[] expected = new GridItem[] { items[ 1 ], items[ 2 ], items[ 0 ], items[ 3 ] };
+    assertArrayEquals( expected, grid.getItems() );
+    assertArrayEquals( expected, grid.getRootItems() );
+    assertEquals( 2, grid.indexOf( items[ 0 ] ) );
+    assertEquals( 0, items[ 1 ].index );
+    assertEquals( 2, items[ 0 ].index );
+  }
+
+  @Test
+  public void testMoveTo_rootItemUp() {
+    GridItem[] items = createGridItems( grid, 4, 0 );
+
+    items[ 3 ].moveTo( 1 );
+
+    GridItem[] expected = new GridItem[] { items[ 0 ], items[ 3 ], items[ 1 ], items[ 2 ] };
+    assertArrayEquals( expected, grid.getItems() );
+    assertEquals( 1, items[ 3 ].index );
+    assertEquals( 3, items[ 2 ].index );
+  }
+
+  @Test
+  public void testMoveTo_movesChildren() {
+    GridItem[] items = createGridItems( grid, 3, 1 );
+
+    items[ 0 ].moveTo( 2 );
+
+    GridItem[] expected = new GridItem[] {
+      items[ 2 ], items[ 3 ], items[ 4 ], items[ 5 ], items[ 0 ], items[ 1 ]
+    };
+    assertArrayEquals( expected, grid.getItems() );
+  }
+
+  @Test
+  public void testMoveTo_childItem() {
+    GridItem[] items = createGridItems( grid, 2, 3 );
+
+    items[ 3 ].moveTo( 0 );
+
+    GridItem[] expected = new GridItem[] { items[ 3 ], items[ 1 ], items[ 2 ] };
+    assertArrayEquals( expected, items[ 0 ].getItems() );
+    assertEquals( 0, items[ 0 ].indexOf( items[ 3 ] ) );
+    assertSame( items[ 3 ], grid.getItem( 1 ) );
+    assertSame( items[ 4 ], grid.getItem( 4 ) );
+  }
+
+  @Test
+  public void testMoveTo_preservesSelection() {
+    grid = new Grid( shell, SWT.MULTI );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    grid.setSelection( new GridItem[] { items[ 0 ], items[ 2 ] } );
+
+    items[ 0 ].moveTo( 1 );
+
+    assertArrayEquals( new int[] { 1, 2 }, grid.getSelectionIndices() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testMoveTo_invalidIndex() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+
+    items[ 0 ].moveTo( 3 );
+  }
+
+  @Test
+  public void testReorder() {
+    GridItem[] items = createGridItems( grid, 3, 0 );
+
+    grid.reorder( new int[] { 2, 0, 1 } );
+
+    GridItem[] expected = new GridItem[] { items[ 2 ], items[ 0 ], items[ 1 ] };
+    assertArrayEquals( expected, grid.getItems() );
+    assertEquals( 0, items[ 2 ].index );
+    assertEquals( 2, items[ 1 ].index );
+  }
+
+  @Test
+  public void testReorder_movesChildren() {
+    GridItem[] items = createGridItems( grid, 2, 1 );
+
+    grid.reorder( new int[] { 1, 0 } );
+
+    GridItem[] expected = new GridItem[] { items[ 2 ], items[ 3 ], items[ 0 ], items[ 1 ] };
+    assertArrayEquals( expected, grid.getItems() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testReorder_nullPermutation() {
+    grid.reorder( null );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testReorder_duplicateIndex() {
+    createGridItems( grid, 3, 0 );
+
+    grid.reorder( new int[] { 0, 1, 1 } );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testReorder_wrongLength() {
+    createGridItems( grid, 3, 0 );
+
+    grid.reorder( new int[] { 0, 1 } );
+  }
+
+  @Test
+  public void testScheduleRedraw_coalescesUntilRedrawIsProcessed() {
+    IGridAdapter adapter = grid.getAdapter( IGridAdapter.class );
+    adapter.doRedraw();
+    int coalescedRedrawCount = adapter.getCoalescedRedrawCount();
+
+    grid.scheduleRedraw();
+    grid.scheduleRedraw();
+    grid.scheduleRedraw();
+
+    assertEquals( coalescedRedrawCount + 2, adapter.getCoalescedRedrawCount() );
+  }
+
+  @Test
+  public void testScheduleRedraw_afterRedrawIsProcessed() {
+    IGridAdapter adapter = grid.getAdapter( IGridAdapter.class );
+    grid.scheduleRedraw();
+    adapter.doRedraw();
+    int coalescedRedrawCount = adapter.getCoalescedRedrawCount();
+
+    grid.scheduleRedraw();
+
+    assertEquals( coalescedRedrawCount, adapter.getCoalescedRedrawCount() );
+  }
+
+  @Test
+  public void testScheduleRedraw_afterGridWasHidden() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    shell.open();
+    Fixture.fakeNewRequest();
+    Fixture.executeLifeCycleFromServerThread();
+    grid.setVisible( false );
+    grid.setTopIndex( 20 );
+    Fixture.fakeNewRequest();
+    Fixture.executeLifeCycleFromServerThread();
+
+    grid.setVisible( true );
+    grid.setTopIndex( 50 );
+    Fixture.fakeNewRequest();
+    Fixture.executeLifeCycleFromServerThread();
+
+    assertTrue( grid.getItem( 50 ).isResolved() );
+  }
+
+  @Test
+  public void testScheduleRedraw_invalidatesTopIndexEveryTime() {
+    createGridItems( grid, 20, 0 );
+    grid.scheduleRedraw();
+    grid.setTopIndex( 5 );
+    assertEquals( 5, grid.getTopIndex() );
+
+    grid.remove( 0, 19 );
+
+    assertEquals( 0, grid.getTopIndex() );
+  }
+
+  @Test
+  public void testGetAdapter_GridMetrics() {
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+
+    assertNotNull( metrics );
+    assertSame( metrics, grid.getAdapter( GridMetrics.class ) );
+    assertFalse( metrics.isEnabled() );
+  }
+
+  @Test
+  public void testMetrics_disabled() {
+    grid = new Grid( shell, SWT.VIRTUAL | SWT.V_SCROLL );
+    grid.setSize( 200, 200 );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+
+    grid.setItemCount( 100 );
+    grid.getAdapter( IGridAdapter.class ).doRedraw();
+
+    assertEquals( 0, metrics.getSetDataEvents() );
+    assertEquals( 0, metrics.getMaterializedItems() );
+    assertEquals( 0, metrics.getUpdateScrollBarsCount() );
+  }
+
+  @Test
+  public void testMetrics_setDataEvents() {
+    grid = new Grid( shell, SWT.VIRTUAL | SWT.V_SCROLL );
+    grid.setSize( 200, 200 );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+    metrics.setEnabled( true );
+
+    grid.setItemCount( 100 );
+    grid.getAdapter( IGridAdapter.class ).doRedraw();
+
+    int visibleItemCount = grid.getBottomIndex() - grid.getTopIndex() + 1;
+    assertEquals( visibleItemCount, metrics.getSetDataEvents() );
+    assertEquals( visibleItemCount, metrics.getMaterializedItems() );
+  }
+
+  @Test
+  public void testMetrics_timers() {
+    GridColumn column = new GridColumn( grid, SWT.NONE );
+    createGridItems( grid, 20, 0 );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+    metrics.setEnabled( true );
+
+    grid.getBottomIndex();
+    column.pack();
+
+    assertTrue( metrics.getRowRangeCount() > 0 );
+    assertTrue( metrics.getUpdateScrollBarsCount() > 0 );
+    assertEquals( 1, metrics.getPackCount() );
+    assertTrue( metrics.getPackTime() >= 0 );
+  }
+
+  @Test
+  public void testMetrics_selectionSize() {
+    grid = new Grid( shell, SWT.MULTI );
+    createGridItems( grid, 5, 0 );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+
+    grid.select( new int[] { 1, 3 } );
+
+    assertEquals( 2, metrics.getSelectionSize() );
+  }
+
+  @Test
+  public void testMetrics_reset() {
+    GridColumn column = new GridColumn( grid, SWT.NONE );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+    metrics.setEnabled( true );
+    column.pack();
+
+    metrics.reset();
+
+    assertEquals( 0, metrics.getPackCount() );
+    assertEquals( 0, metrics.getPackTime() );
+  }
+
+  @Test
+  public void testMetrics_getValues() {
+    GridColumn column = new GridColumn( grid, SWT.NONE );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+    metrics.setEnabled( true );
+    column.pack();
+
+    Map<String, Number> values = metrics.getValues();
+
+    assertEquals( 1, values.get( GridMetrics.PACK_COUNT ).longValue() );
+    assertEquals( 0, values.get( GridMetrics.SELECTION_SIZE ).intValue() );
+    assertTrue( values.containsKey( GridMetrics.RENDERED_ITEM_CHARS ) );
+  }
+
+  @Test
+  public void testMetrics_cellUpdates() {
+    createGridColumns( grid, 2, SWT.NONE );
+    createGridItems( grid, 3, 0 );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+    metrics.setEnabled( true );
+    CellUpdateBatch batch = new CellUpdateBatch();
+    batch.setText( 0, 0, "foo" );
+    batch.setText( 0, 0, "bar" );
+    batch.setText( 1, 1, "baz" );
+    batch.setText( 7, 1, "qux" );
+
+    grid.applyCellUpdates( batch );
+    display.readAndDispatch();
+
+    assertEquals( 1, metrics.getCellUpdateFlushes() );
+    assertEquals( 2, metrics.getCellUpdatesApplied() );
+    assertEquals( 1, metrics.getCellUpdatesConflated() );
+    assertEquals( 1, metrics.getCellUpdatesDropped() );
+    assertEquals( 100, metrics.getCellUpdateInterval() );
+  }
+
+  @Test
+  public void testMetrics_cellUpdatesConflatedAcrossBatches() {
+    createGridColumns( grid, 2, SWT.NONE );
+    createGridItems( grid, 3, 0 );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+    metrics.setEnabled( true );
+    CellUpdateBatch batch = new CellUpdateBatch();
+
+    batch.setText( 0, 0, "foo" );
+    grid.applyCellUpdates( batch );
+    batch.setText( 0, 0, "bar" );
+    grid.applyCellUpdates( batch );
+    display.readAndDispatch();
+
+    assertEquals( 1, metrics.getCellUpdatesApplied() );
+    assertEquals( 1, metrics.getCellUpdatesConflated() );
+  }
+
+  @Test
+  public void testMetrics_cellUpdateIntervalGrowsOnLateFlush() {
+    createGridItems( grid, 1, 0 );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+    metrics.setEnabled( true );
+    grid.setCellUpdateInterval( 10 );
+    grid.setClock( clock );
+
+    flushCellUpdate( 200 );
+
+    assertTrue( metrics.getCellUpdateInterval() >= 200 );
+    assertTrue( metrics.getCellUpdateInterval() < 2000 );
+    assertEquals( 10, grid.getCellUpdateInterval() );
+  }
+
+  @Test
+  public void testMetrics_cellUpdateIntervalIsCapped() {
+    createGridItems( grid, 1, 0 );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+    metrics.setEnabled( true );
+    grid.setCellUpdateInterval( 10 );
+    grid.setClock( clock );
+
+    flushCellUpdate( 5000 );
+    flushCellUpdate( 5000 );
+
+    assertEquals( 2000, metrics.getCellUpdateInterval() );
+  }
+
+  @Test
+  public void testMetrics_cellUpdateIntervalReturnsToConfiguredInterval() {
+    createGridItems( grid, 1, 0 );
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+    metrics.setEnabled( true );
+    grid.setCellUpdateInterval( 10 );
+    grid.setClock( clock );
+    flushCellUpdate( 5000 );
+
+    for( int i = 0; i < 10; i++ ) {
+      flushCellUpdate( 0 );
+    }
+
+    assertEquals( 10, metrics.getCellUpdateInterval() );
+  }
+
+  @Test
+  public void testGetFrozenColumnCount_default() {
+    assertEquals( 0, grid.getFrozenColumnCount() );
+  }
+
+  @Test
+  public void testSetFrozenColumnCount() {
+    grid.setFrozenColumnCount( 2 );
+
+    assertEquals( 2, grid.getFrozenColumnCount() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetFrozenColumnCount_negativeCount() {
+    grid.setFrozenColumnCount( -1 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetFrozenColumnCount_afterRenderedWithoutFrozenColumns() {
+    Fixture.markInitialized( grid );
+
+    grid.setFrozenColumnCount( 1 );
+  }
+
+  @Test
+  public void testSetFrozenColumnCount_changeAfterRenderedWithFrozenColumns() {
+    grid.setFrozenColumnCount( 1 );
+    markRenderedWithFrozenColumns();
+
+    grid.setFrozenColumnCount( 2 );
+
+    assertEquals( 2, grid.getFrozenColumnCount() );
+  }
+
+  @Test
+  public void testSetFrozenColumnCount_restoreAfterRenderedWithFrozenColumns() {
+    grid.setFrozenColumnCount( 1 );
+    markRenderedWithFrozenColumns();
+
+    grid.setFrozenColumnCount( 0 );
+    grid.setFrozenColumnCount( 1 );
+
+    assertEquals( 1, grid.getFrozenColumnCount() );
+  }
+
+  @Test
+  public void testShowColumn_frozenColumnDoesNotScroll() {
+    GridColumn[] columns = createGridColumns( grid, 10, SWT.NONE );
+    grid.setFrozenColumnCount( 1 );
+    horizontalBar.setSelection( 150 );
+
+    grid.showColumn( columns[ 0 ] );
+
+    assertEquals( 150, horizontalBar.getSelection() );
+  }
+
+  @Test
+  public void testShowColumn_ScrollRight_withFrozenColumns() {
+    GridColumn[] columns = createGridColumns( grid, 10, SWT.NONE );
+    grid.setFrozenColumnCount( 2 );
+
+    grid.showColumn( columns[ 4 ] );
+
+    assertEquals( 100, horizontalBar.getSelection() );
+  }
+
+  @Test
+  public void testShowColumn_ScrollLeft_withFrozenColumns() {
+    GridColumn[] columns = createGridColumns( grid, 10, SWT.NONE );
+    grid.setFrozenColumnCount( 1 );
+    horizontalBar.setSelection( 150 );
+
+    grid.showColumn( columns[ 2 ] );
+
+    assertEquals( 40, horizontalBar.getSelection() );
+  }
+
+  @Test
+  public void testColumnVirtualization_rendersFrozenColumns() {
+    GridColumn[] columns = createGridColumns( grid, 20, SWT.NONE );
+    grid.setColumnVirtualizationEnabled( true );
+    grid.setFrozenColumnCount( 1 );
+    IGridAdapter adapter = grid.getAdapter( IGridAdapter.class );
+
+    grid.showColumn( columns[ 19 ] );
+    adapter.updateRenderedColumns();
+
+    assertTrue( adapter.isColumnRendered( 0 ) );
+    assertFalse( adapter.isColumnRendered( 1 ) );
+    assertTrue( adapter.isColumnRendered( 19 ) );
+  }
+
+  @Test
+  public void testColumnVirtualizationEnabled_default() {
+    assertFalse( grid.isColumnVirtualizationEnabled() );
+  }
+
+  @Test
+  public void testSetColumnVirtualizationEnabled() {
+    grid.setColumnVirtualizationEnabled( true );
+
+    assertTrue( grid.isColumnVirtualizationEnabled() );
+    assertFalse( horizontalBar.isListening( SWT.Selection ) );
+  }
+
+  @Test
+  public void testSetColumnVirtualizationEnabled_reset() {
+    grid.setColumnVirtualizationEnabled( true );
+
+    grid.setColumnVirtualizationEnabled( false );
+
+    assertFalse( grid.isColumnVirtualizationEnabled() );
+  }
+
+  @Test
+  public void testColumnVirtualization_rendersVisibleColumns() {
+    GridColumn[] columns = createGridColumns( grid, 20, SWT.NONE );
+    grid.setColumnVirtualizationEnabled( true );
+    IGridAdapter adapter = grid.getAdapter( IGridAdapter.class );
+
+    adapter.updateRenderedColumns();
+
+    assertTrue( adapter.isColumnRendered( 0 ) );
+    assertTrue( adapter.isColumnRendered( 5 ) );
+    assertFalse( adapter.isColumnRendered( 19 ) );
+    grid.showColumn( columns[ 19 ] );
+    adapter.updateRenderedColumns();
+    assertFalse( adapter.isColumnRendered( 0 ) );
+    assertTrue( adapter.isColumnRendered( 19 ) );
+  }
+
+  @Test
+  public void testColumnVirtualization_disabledRendersAllColumns() {
+    createGridColumns( grid, 20, SWT.NONE );
+    IGridAdapter adapter = grid.getAdapter( IGridAdapter.class );
+
+    adapter.updateRenderedColumns();
+
+    assertTrue( adapter.isColumnRendered( 19 ) );
+  }
+
+  @Test
+  public void testColumnVirtualization_skipsHiddenColumns() {
+    GridColumn[] columns = createGridColumns( grid, 20, SWT.NONE );
+    for( int i = 1; i < 19; i++ ) {
+      columns[ i ].setVisible( false );
+    }
+    grid.setColumnVirtualizationEnabled( true );
+    IGridAdapter adapter = grid.getAdapter( IGridAdapter.class );
+
+    adapter.updateRenderedColumns();
+
+    assertTrue( adapter.isColumnRendered( 19 ) );
+    assertFalse( adapter.isColumnRendered( 10 ) );
+  }
+
+  @Test
+  public void testApplyCellUpdates() {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    CellUpdateBatch batch = new CellUpdateBatch();
+    batch.setText( 1, 1, "foo" );
+    batch.setText( 2, 0, "bar" );
+
+    grid.applyCellUpdates( batch );
+    display.readAndDispatch();
+
+    assertEquals( "foo", items[ 1 ].getText( 1 ) );
+    assertEquals( "bar", items[ 2 ].getText( 0 ) );
+    assertTrue( batch.isEmpty() );
+  }
+
+  @Test
+  public void testApplyCellUpdates_appliedOnUIThreadLoop() {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    CellUpdateBatch batch = new CellUpdateBatch();
+    batch.setText( 1, 1, "foo" );
+
+    grid.applyCellUpdates( batch );
+
+    assertEquals( "", items[ 1 ].getText( 1 ) );
+  }
+
+  @Test
+  public void testApplyCellUpdates_coalescesUpdatesOfSameCell() {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    CellUpdateBatch batch = new CellUpdateBatch();
+    batch.setText( 1, 1, "foo" );
+    batch.setText( 1, 1, "bar" );
+
+    assertEquals( 1, batch.size() );
+    assertEquals( 1, batch.getCoalescedCount() );
+    grid.applyCellUpdates( batch );
+    display.readAndDispatch();
+    assertEquals( "bar", items[ 1 ].getText( 1 ) );
+  }
+
+  @Test
+  public void testApplyCellUpdates_mergesPendingBatches() {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    CellUpdateBatch batch = new CellUpdateBatch();
+
+    batch.setText( 0, 0, "foo" );
+    grid.applyCellUpdates( batch );
+    batch.setText( 0, 0, "bar" );
+    batch.setText( 0, 1, "baz" );
+    grid.applyCellUpdates( batch );
+    display.readAndDispatch();
+
+    assertEquals( "bar", items[ 0 ].getText( 0 ) );
+    assertEquals( "baz", items[ 0 ].getText( 1 ) );
+  }
+
+  @Test
+  public void testApplyCellUpdates_skipsMissingCells() {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    CellUpdateBatch batch = new CellUpdateBatch();
+    batch.setText( 5, 0, "foo" );
+    batch.setText( 0, 5, "bar" );
+    batch.setText( 0, 0, "baz" );
+
+    grid.applyCellUpdates( batch );
+    display.readAndDispatch();
+
+    assertEquals( "baz", items[ 0 ].getText( 0 ) );
+  }
+
+  @Test
+  public void testApplyCellUpdates_indicesResolvedWhenApplied() {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    CellUpdateBatch batch = new CellUpdateBatch();
+    batch.setText( 0, 0, "foo" );
+
+    grid.applyCellUpdates( batch );
+    items[ 0 ].dispose();
+    display.readAndDispatch();
+
+    assertEquals( "foo", items[ 1 ].getText( 0 ) );
+  }
+
+  @Test
+  public void testApplyCellUpdates_byItem() {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    CellUpdateBatch batch = new CellUpdateBatch();
+    batch.setText( items[ 1 ], 1, "foo" );
+    batch.setText( items[ 1 ], 1, "bar" );
+
+    assertEquals( 1, batch.size() );
+    grid.applyCellUpdates( batch );
+    items[ 0 ].dispose();
+    display.readAndDispatch();
+
+    assertEquals( "bar", items[ 1 ].getText( 1 ) );
+    assertEquals( "", grid.getItem( 1 ).getText( 1 ) );
+  }
+
+  @Test
+  public void testApplyCellUpdates_byItemSkipsDisposedItem() {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    CellUpdateBatch batch = new CellUpdateBatch();
+    batch.setText( items[ 0 ], 0, "foo" );
+    batch.setText( items[ 1 ], 0, "bar" );
+
+    grid.applyCellUpdates( batch );
+    items[ 0 ].dispose();
+    display.readAndDispatch();
+
+    assertEquals( "bar", items[ 1 ].getText( 0 ) );
+    assertEquals( "", items[ 2 ].getText( 0 ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testCellUpdateBatch_setTextNullItem() {
+    new CellUpdateBatch().setText( null, 0, "foo" );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testApplyCellUpdates_NullArgument() {
+    grid.applyCellUpdates( null );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testCellUpdateBatch_setTextNegativeRow() {
+    new CellUpdateBatch().setText( -1, 0, "foo" );
+  }
+
+  @Test
+  public void testGetCellUpdateInterval_default() {
+    assertEquals( 100, grid.getCellUpdateInterval() );
+  }
+
+  @Test
+  public void testSetCellUpdateInterval() {
+    grid.setCellUpdateInterval( 500 );
+
+    assertEquals( 500, grid.getCellUpdateInterval() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetCellUpdateInterval_negative() {
+    grid.setCellUpdateInterval( -1 );
+  }
+
+  @Test
+  public void testEstimateFootprint() {
+    createGridColumns( grid, 2, SWT.NONE );
+    createGridItems( grid, 3, 1 );
+
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+
+    assertEquals( 6, footprint.getItemCount() );
+    assertEquals( 6, footprint.getItemDataCount() );
+    assertEquals( 0, footprint.getCellDataCount() );
+    assertEquals( 6, footprint.getStringCount() );
+    assertTrue( footprint.getStringSize() > 0 );
+    assertTrue( footprint.getPreservedValuesSize() > 0 );
+  }
+
+  @Test
+  public void testEstimateFootprint_perColumn() {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 3, 0 );
+    items[ 0 ].setText( 1, "foo" );
+    items[ 0 ].setChecked( 1, true );
+
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+
+    assertEquals( 2, footprint.getColumnCount() );
+    assertEquals( 0, footprint.getCellDataCount( 0 ) );
+    assertEquals( 1, footprint.getCellDataCount( 1 ) );
+    assertTrue( footprint.getColumnSize( 0 ) > 0 );
+  }
+
+  @Test
+  public void testEstimateFootprint_textOnlyCellsAreCompact() {
+    createGridColumns( grid, 2, SWT.NONE );
+    GridItem[] items = createGridItems( grid, 2, 0 );
+    long textOnlySize = grid.getAdapter( GridMetrics.class ).estimateFootprint().getTotalSize();
+
+    items[ 0 ].setBackground( 0, display.getSystemColor( SWT.COLOR_RED ) );
+
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+    assertEquals( 1, footprint.getCellDataCount() );
+    assertEquals( 2, footprint.getStringCount() );
+    assertTrue( footprint.getTotalSize() > textOnlySize );
+    assertEquals( "root_0", items[ 0 ].getText( 0 ) );
+  }
+
+  @Test
+  public void testEstimateFootprint_addColumnDoesNotTouchItems() {
+    createGridColumns( grid, 2, SWT.NONE );
+    createGridItems( grid, 3, 0 );
+    long size = grid.getAdapter( GridMetrics.class ).estimateFootprint().getTotalSize();
+
+    new GridColumn( grid, SWT.NONE, 0 );
+
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+    assertEquals( size, footprint.getTotalSize() );
+  }
+
+  @Test
+  public void testEstimateFootprint_perLevel() {
+    createGridItems( grid, 2, 3 );
+
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+
+    assertEquals( 2, footprint.getLevelCount() );
+    assertEquals( 2, footprint.getItemCount( 0 ) );
+    assertEquals( 6, footprint.getItemCount( 1 ) );
+    long levelSizes = footprint.getLevelSize( 0 ) + footprint.getLevelSize( 1 );
+    assertEquals( footprint.getTotalSize(), levelSizes );
+  }
+
+  @Test
+  public void testEstimateFootprint_unresolvedVirtualItems() {
+    grid = new Grid( shell, SWT.VIRTUAL );
+    grid.setItemCount( 10 );
+
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+
+    assertEquals( 10, footprint.getItemCount() );
+    assertEquals( 0, footprint.getItemDataCount() );
+    assertEquals( 0, footprint.getPreservedValuesSize() );
+  }
+
+  //////////////////
+  // Helping methods
+
+  private int countResolvedGridItems() {
+    int counter = 0;
+    Item[] items = ItemHolder.getItemHolder( grid ).getItems();
+    for( Item item : items ) {
+      if( item instanceof GridItem ) {
+        counter++;
+      }
+    }
+    return counter;
+  }
+
+  private void doFakeRedraw() {
+    grid.getAdapter( IGridAdapter.class ).doRedraw();
+  }
+
+  private void fakeCellPadding( Grid grid, Rectangle padding ) {
+    grid.layoutCache.cellPadding = padding;
+  }
+
+  private int getCheckBoxOffset( int index ) {
+    return grid.getAdapter( IGridAdapter.class ).getCheckBoxOffset( index );
+  }
+
+  private void markRenderedWithFrozenColumns() {
+    grid.getAdapter( IGridAdapter.class ).markSplitContainerRendered();
+    Fixture.markInitialized( grid );
+  }
+
+  // applies a cell update as if its flush ran the given time later than planned, the update
+  // is requested long after the previous flush so that it is not postponed by the interval
+  private void flushCellUpdate( long lag ) {
+    clock.time += 10000;
+    CellUpdateBatch batch = new CellUpdateBatch();
+    batch.setText( 0, 0, "foo" );
+    grid.applyCellUpdates( batch );
+    clock.time += lag;
+    display.readAndDispatch();
+  }
+
+  //////////////////
+  // Helping classes
+
+  private static class FakeClock implements Grid.Clock {
+
+    long time;
+
+    public long currentTimeMillis() {
+      return time;
+    }
+
+  }
+
+  private static class TextFilter implements IGridItemFilter {
+
+    private final String rejectedText;
+
+    TextFilter( String rejectedText ) {
+      this.rejectedText = rejectedText;
+    }
+
+    public boolean select( GridItem item ) {
+      return !rejectedText.equals( item.getText() );
+    }
+  }
+
+  private static class ReverseTextComparator implements Comparator<GridItem> {
+
+    public int compare( GridItem item1, GridItem item2 ) {
+      return item2.getText().compareTo( item1.getText() );
+    }
+  }
 
   private class LoggingListener implements Listener {
 
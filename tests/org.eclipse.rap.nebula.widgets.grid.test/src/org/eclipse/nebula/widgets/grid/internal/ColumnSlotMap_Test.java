@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2014 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.nebula.widgets.grid.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ColumnSlotMap_Test {
+
+  private ColumnSlotMap slotMap;
+
+  @Before
+  public void setUp() {
+    slotMap = new ColumnSlotMap();
+  }
+
+  @Test
+  public void testCreate() {
+    assertEquals( 0, slotMap.getSlot( 0 ) );
+    assertEquals( 1, slotMap.getSlotCount() );
+  }
+
+  @Test( expected = IndexOutOfBoundsException.class )
+  public void testGetSlot_withoutColumns_invalidIndex() {
+    slotMap.getSlot( 1 );
+  }
+
+  @Test( expected = IndexOutOfBoundsException.class )
+  public void testGetSlot_negativeIndex() {
+    slotMap.getSlot( -1 );
+  }
+
+  @Test
+  public void testColumnAdded_firstColumnTakesDefaultSlot() {
+    slotMap.columnAdded( -1 );
+
+    assertEquals( 0, slotMap.getSlot( 0 ) );
+    assertEquals( 1, slotMap.getSlotCount() );
+  }
+
+  @Test
+  public void testColumnAdded_atEnd() {
+    slotMap.columnAdded( -1 );
+
+    slotMap.columnAdded( -1 );
+
+    assertEquals( 0, slotMap.getSlot( 0 ) );
+    assertEquals( 1, slotMap.getSlot( 1 ) );
+    assertEquals( 2, slotMap.getSlotCount() );
+  }
+
+  @Test
+  public void testColumnAdded_atIndex() {
+    slotMap.columnAdded( -1 );
+    slotMap.columnAdded( -1 );
+
+    slotMap.columnAdded( 0 );
+
+    assertEquals( 2, slotMap.getSlot( 0 ) );
+    assertEquals( 0, slotMap.getSlot( 1 ) );
+    assertEquals( 1, slotMap.getSlot( 2 ) );
+  }
+
+  @Test
+  public void testColumnAdded_manyColumns() {
+    for( int i = 0; i < 100; i++ ) {
+      slotMap.columnAdded( 0 );
+    }
+
+    assertEquals( 99, slotMap.getSlot( 0 ) );
+    assertEquals( 0, slotMap.getSlot( 99 ) );
+  }
+
+  @Test( expected = IndexOutOfBoundsException.class )
+  public void testGetSlot_invalidIndex() {
+    slotMap.columnAdded( -1 );
+    slotMap.columnAdded( -1 );
+
+    slotMap.getSlot( 2 );
+  }
+
+  @Test
+  public void testColumnRemoved_keepsSlotsOfOtherColumns() {
+    addColumns( 3 );
+
+    slotMap.columnRemoved( 1 );
+
+    assertEquals( 0, slotMap.getSlot( 0 ) );
+    assertEquals( 2, slotMap.getSlot( 1 ) );
+    assertEquals( 3, slotMap.getSlotCount() );
+  }
+
+  @Test
+  public void testColumnRemoved_lastColumnLeavesDefaultSlot() {
+    addColumns( 2 );
+    slotMap.columnRemoved( 0 );
+
+    slotMap.columnRemoved( 0 );
+
+    assertEquals( 1, slotMap.getSlot( 0 ) );
+  }
+
+  @Test
+  public void testColumnRemoved_newColumnDoesNotReuseSlot() {
+    addColumns( 2 );
+    slotMap.columnRemoved( 1 );
+
+    slotMap.columnAdded( -1 );
+
+    assertEquals( 2, slotMap.getSlot( 1 ) );
+  }
+
+  @Test
+  public void testNeedsCompaction() {
+    addColumns( 12 );
+
+    for( int i = 0; i < 8; i++ ) {
+      slotMap.columnRemoved( 0 );
+    }
+
+    assertFalse( slotMap.needsCompaction() );
+    slotMap.columnRemoved( 0 );
+    assertTrue( slotMap.needsCompaction() );
+  }
+
+  @Test
+  public void testCompact() {
+    addColumns( 4 );
+    slotMap.columnRemoved( 0 );
+    slotMap.columnRemoved( 1 );
+
+    int[] newSlots = slotMap.compact();
+
+    assertArrayEquals( new int[] { -1, 0, -1, 1 }, newSlots );
+    assertEquals( 0, slotMap.getSlot( 0 ) );
+    assertEquals( 1, slotMap.getSlot( 1 ) );
+    assertEquals( 2, slotMap.getSlotCount() );
+  }
+
+  @Test
+  public void testCompact_withoutColumns() {
+    addColumns( 2 );
+    slotMap.columnRemoved( 0 );
+    slotMap.columnRemoved( 0 );
+
+    int[] newSlots = slotMap.compact();
+
+    assertArrayEquals( new int[] { -1, 0 }, newSlots );
+    assertEquals( 0, slotMap.getSlot( 0 ) );
+    assertEquals( 1, slotMap.getSlotCount() );
+  }
+
+  private void addColumns( int count ) {
+    for( int i = 0; i < count; i++ ) {
+      slotMap.columnAdded( -1 );
+    }
+  }
+
+}
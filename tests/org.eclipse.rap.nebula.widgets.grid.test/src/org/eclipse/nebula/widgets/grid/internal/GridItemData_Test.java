@@ -14,9 +14,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import org.eclipse.nebula.widgets.grid.internal.GridItemData.CellData;
 import org.eclipse.rap.rwt.testfixture.Fixture;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
@@ -36,7 +38,7 @@ public class GridItemData_Test {
   public void setUp() {
     Fixture.setUp();
     display = new Display();
-    data = new GridItemData( 3 );
+    data = new GridItemData();
   }
 
   @After
@@ -52,60 +54,152 @@ public class GridItemData_Test {
     assertEquals( -1, data.customHeight );
     assertFalse( data.expanded );
     assertNull( data.children );
-    assertNotNull( data.cellData );
+    assertNull( data.cells );
   }
 
   @Test
-  public void testCreate_zeroCells() {
-    data = new GridItemData( 0 );
+  public void testGetCellData() {
+    assertNotNull( data.getCellData( 1 ) );
+  }
+
+  @Test( expected = IndexOutOfBoundsException.class )
+  public void testGetCellData_invalidSlot() {
+    data.getCellData( -1 );
+  }
+
+  @Test
+  public void testGetCellData_growsCells() {
+    data.getCellData( 0 );
+
+    data.getCellData( 4 );
 
-    assertEquals( 1, data.cellData.size() );
+    assertEquals( 5, data.getCellSlotCount() );
+    assertNotNull( data.findCellData( 0 ) );
   }
 
   @Test
-  public void testCreate_nonZeroCells() {
-    assertEquals( 3, data.cellData.size() );
+  public void testReadCellData_unsetCell() {
+    CellData cellData = data.readCellData( 1 );
+
+    assertEquals( "", cellData.text );
+    assertNull( cellData.image );
+    assertFalse( cellData.checked );
+    assertTrue( cellData.checkable );
+    assertNull( data.findCellData( 1 ) );
+    assertNull( data.cells );
   }
 
   @Test
-  public void testGetCellData() {
-    assertNotNull( data.getCellData( 1 ) );
+  public void testReadCellData_setCell() {
+    CellData cellData = data.getCellData( 1 );
+
+    assertSame( cellData, data.readCellData( 1 ) );
+  }
+
+  @Test
+  public void testFindCellData_unsetCell() {
+    assertNull( data.findCellData( 1 ) );
+  }
+
+  @Test
+  public void testEnsureSlotCount() {
+    data.ensureSlotCount( 3 );
+
+    assertEquals( 3, data.getCellSlotCount() );
+  }
+
+  @Test
+  public void testEnsureSlotCount_keepsCells() {
+    data.setText( 1, "foo" );
+
+    data.ensureSlotCount( 5 );
+
+    assertEquals( 5, data.getCellSlotCount() );
+    assertEquals( "foo", data.getText( 1 ) );
+  }
+
+  @Test
+  public void testEnsureSlotCount_doesNotShrink() {
+    data.setText( 3, "foo" );
+
+    data.ensureSlotCount( 2 );
+
+    assertEquals( 4, data.getCellSlotCount() );
+  }
+
+  @Test
+  public void testMoveCells() {
+    data.setText( 0, "foo" );
+    CellData cellData = data.getCellData( 2 );
+    data.setText( 3, "bar" );
+
+    data.moveCells( new int[] { 1, -1, 0, -1 }, 2 );
+
+    assertEquals( 2, data.getCellSlotCount() );
+    assertSame( cellData, data.findCellData( 0 ) );
+    assertEquals( "foo", data.getText( 1 ) );
+  }
+
+  @Test
+  public void testMoveCells_withoutCells() {
+    data.moveCells( new int[] { -1, 0 }, 1 );
+
+    assertNull( data.cells );
+  }
+
+  @Test
+  public void testGetText_unsetCell() {
+    assertEquals( "", data.getText( 1 ) );
   }
 
   @Test( expected = IndexOutOfBoundsException.class )
-  public void testGetCellData_invalidIndex() {
-    data.getCellData( 4 );
+  public void testGetText_invalidSlot() {
+    data.getText( -1 );
   }
 
   @Test
-  public void testAddCellData_atEnd() {
-    data = new GridItemData( 1 );
-    data.getCellData( 0 );
+  public void testSetText_doesNotCreateCellData() {
+    data.setText( 1, "foo" );
 
-    data.addCellData( -1 );
+    assertEquals( "foo", data.getText( 1 ) );
+    assertNull( data.findCellData( 1 ) );
+  }
+
+  @Test
+  public void testSetText_emptyTextDoesNotCreateCells() {
+    data.setText( 1, "" );
 
-    assertNotNull( data.cellData.get( 0 ) );
-    assertNull( data.cellData.get( 1 ) );
+    assertNull( data.cells );
   }
 
   @Test
-  public void testAddCellData_atIndex() {
-    data = new GridItemData( 1 );
-    data.getCellData( 0 );
+  public void testSetText_emptyTextResetsCell() {
+    data.setText( 1, "foo" );
+
+    data.setText( 1, "" );
+
+    assertEquals( "", data.getText( 1 ) );
+    assertNull( data.cells[ 1 ] );
+  }
+
+  @Test
+  public void testSetText_withCellData() {
+    CellData cellData = data.getCellData( 1 );
 
-    data.addCellData( 0 );
+    data.setText( 1, "foo" );
 
-    assertNull( data.cellData.get( 0 ) );
-    assertNotNull( data.cellData.get( 1 ) );
+    assertEquals( "foo", cellData.text );
+    assertEquals( "foo", data.getText( 1 ) );
   }
 
   @Test
-  public void testRemoveCellData() {
-    data = new GridItemData( 1 );
+  public void testGetCellData_keepsText() {
+    data.setText( 1, "foo" );
 
-    data.removeCellData( 0 );
+    CellData cellData = data.getCellData( 1 );
 
-    assertEquals( 0, data.cellData.size() );
+    assertEquals( "foo", cellData.text );
+    assertSame( cellData, data.findCellData( 1 ) );
   }
 
   @Test
@@ -124,8 +218,8 @@ public class GridItemData_Test {
 
     data.clear();
 
-    assertEquals( 3, data.cellData.size() );
-    assertNull( data.cellData.get( 1 ) );
+    assertNull( data.findCellData( 1 ) );
+    assertNull( data.cells );
     assertNull( data.defaultFont );
     assertNull( data.defaultBackground );
     assertNull( data.defaultForeground );
@@ -895,6 +895,51 @@ public class GridColumnLCA_Test {
     assertNull( message.findSetOperation( column, "headerWordWrap" ) );
   }
 
+  @Test
+  public void testRenderInitialFixed() throws IOException {
+    lca.render( column );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    CreateOperation operation = message.findCreateOperation( column );
+    assertTrue( operation.getProperties().names().indexOf( "fixed" ) == -1 );
+  }
+
+  @Test
+  public void testRenderFixed() throws IOException {
+    grid.setFrozenColumnCount( 1 );
+    lca.renderChanges( column );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertEquals( JsonValue.TRUE, message.findSetProperty( column, "fixed" ) );
+  }
+
+  @Test
+  public void testRenderFixed_followsColumnOrder() throws IOException {
+    GridColumn otherColumn = new GridColumn( grid, SWT.NONE );
+    grid.setColumnOrder( new int[] { 1, 0 } );
+    grid.setFrozenColumnCount( 1 );
+
+    lca.renderChanges( column );
+    lca.renderChanges( otherColumn );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( column, "fixed" ) );
+    assertEquals( JsonValue.TRUE, message.findSetProperty( otherColumn, "fixed" ) );
+  }
+
+  @Test
+  public void testRenderFixedUnchanged() throws IOException {
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( column );
+
+    grid.setFrozenColumnCount( 1 );
+    Fixture.preserveWidgets();
+    lca.renderChanges( column );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( column, "fixed" ) );
+  }
+
   //////////////////
   // Helping classes
 
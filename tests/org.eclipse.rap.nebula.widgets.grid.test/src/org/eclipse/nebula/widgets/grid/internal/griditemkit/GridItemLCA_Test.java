@@ -24,7 +24,11 @@ import static org.junit.Assert.assertTrue;
 import java.io.IOException;
 
 import org.eclipse.nebula.widgets.grid.Grid;
+import org.eclipse.nebula.widgets.grid.GridColumn;
+import org.eclipse.nebula.widgets.grid.GridFootprint;
 import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.nebula.widgets.grid.GridMetrics;
+import org.eclipse.nebula.widgets.grid.internal.IGridAdapter;
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.json.JsonValue;
@@ -166,6 +170,47 @@ public class GridItemLCA_Test {
     assertEquals( 1, operation.getProperties().get( "index" ).asInt() );
   }
 
+  @Test
+  public void testRenderChanges_recordsMetrics() throws IOException {
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+    metrics.setEnabled( true );
+    item.setText( "foo" );
+
+    lca.renderChanges( item );
+
+    assertEquals( 1, metrics.getRenderedItems() );
+    assertEquals( 1, metrics.getRenderedItemsInRequest() );
+    assertTrue( metrics.getRenderedItemChars() > 0 );
+  }
+
+  @Test
+  public void testRenderChanges_withoutMetrics() throws IOException {
+    GridMetrics metrics = grid.getAdapter( GridMetrics.class );
+
+    lca.renderChanges( item );
+
+    assertEquals( 0, metrics.getRenderedItems() );
+  }
+
+  @Test
+  public void testRenderChanges_doesNotAllocateCellData() throws IOException {
+    createGridColumns( grid, 3, SWT.CHECK );
+    GridItem[] items = new GridItem[] {
+      item,
+      new GridItem( grid, SWT.NONE ),
+      new GridItem( grid, SWT.NONE )
+    };
+
+    for( GridItem gridItem : items ) {
+      lca.preserveValues( gridItem );
+      lca.renderInitialization( gridItem );
+      lca.renderChanges( gridItem );
+    }
+
+    GridFootprint footprint = grid.getAdapter( GridMetrics.class ).estimateFootprint();
+    assertEquals( 0, footprint.getCellDataCount() );
+  }
+
   @Test
   public void testRenderIndex() throws IOException {
     new GridItem( grid, SWT.NONE, 0 );
@@ -204,6 +249,21 @@ public class GridItemLCA_Test {
     assertEquals( 2, message.findSetProperty( item, "index" ).asInt() );
   }
 
+  @Test
+  public void testRenderIndex_afterMoveTo() throws IOException {
+    new GridItem( grid, SWT.NONE );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( item );
+    Fixture.preserveWidgets();
+
+    item.moveTo( 1 );
+    lca.renderChanges( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertEquals( 1, message.findSetProperty( item, "index" ).asInt() );
+    assertEquals( 1, message.getOperationCount() );
+  }
+
   @Test
   public void testRenderIndexUnchanged() throws IOException {
     Fixture.markInitialized( display );
@@ -350,6 +410,69 @@ public class GridItemLCA_Test {
     assertNull( message.findSetOperation( item, "texts" ) );
   }
 
+  @Test
+  public void testRenderTexts_withColumnVirtualization() throws IOException {
+    grid.setSize( 200, 200 );
+    createGridColumns( grid, 20, SWT.NONE );
+    grid.setColumnVirtualizationEnabled( true );
+    for( int i = 0; i < 20; i++ ) {
+      item.setText( i, "item 0." + i );
+    }
+
+    grid.getAdapter( IGridAdapter.class ).updateRenderedColumns();
+    lca.renderChanges( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    JsonArray texts = message.findSetProperty( item, "texts" ).asArray();
+    assertEquals( 20, texts.size() );
+    assertEquals( "item 0.0", texts.get( 0 ).asString() );
+    assertEquals( "", texts.get( 19 ).asString() );
+  }
+
+  @Test
+  public void testRenderTexts_withColumnVirtualization_afterScroll() throws IOException {
+    grid.setSize( 200, 200 );
+    GridColumn[] columns = createGridColumns( grid, 20, SWT.NONE );
+    grid.setColumnVirtualizationEnabled( true );
+    for( int i = 0; i < 20; i++ ) {
+      item.setText( i, "item 0." + i );
+    }
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( item );
+    IGridAdapter adapter = grid.getAdapter( IGridAdapter.class );
+    adapter.updateRenderedColumns();
+    Fixture.preserveWidgets();
+
+    grid.showColumn( columns[ 19 ] );
+    adapter.updateRenderedColumns();
+    lca.renderChanges( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    JsonArray texts = message.findSetProperty( item, "texts" ).asArray();
+    assertEquals( "", texts.get( 0 ).asString() );
+    assertEquals( "item 0.19", texts.get( 19 ).asString() );
+  }
+
+  @Test
+  public void testRenderTexts_withColumnVirtualization_unchanged() throws IOException {
+    grid.setSize( 200, 200 );
+    createGridColumns( grid, 20, SWT.NONE );
+    grid.setColumnVirtualizationEnabled( true );
+    item.setText( 19, "foo" );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( item );
+    IGridAdapter adapter = grid.getAdapter( IGridAdapter.class );
+    adapter.updateRenderedColumns();
+    Fixture.preserveWidgets();
+
+    item.setText( 18, "bar" );
+    adapter.updateRenderedColumns();
+    lca.renderChanges( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertNull( message.findSetOperation( item, "texts" ) );
+  }
+
   @Test
   public void testRenderInitialImages() throws IOException {
     createGridColumns( grid, 2, SWT.NONE );
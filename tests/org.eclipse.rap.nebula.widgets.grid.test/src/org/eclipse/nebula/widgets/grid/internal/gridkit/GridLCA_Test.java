@@ -32,6 +32,7 @@ import java.util.List;
 import org.eclipse.nebula.widgets.grid.Grid;
 import org.eclipse.nebula.widgets.grid.GridColumn;
 import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.nebula.widgets.grid.IGridItemFilter;
 import org.eclipse.nebula.widgets.grid.internal.IGridAdapter;
 import org.eclipse.nebula.widgets.grid.internal.gridkit.GridLCA.ItemMetrics;
 import org.eclipse.rap.json.JsonArray;
@@ -121,6 +122,38 @@ public class GridLCA_Test {
     assertEquals( JsonValue.TRUE, message.findListenProperty( grid, "SetData" ) );
   }
 
+  @Test
+  public void testRenderCreate_withoutFrozenColumns() throws IOException {
+    lca.renderInitialization( grid );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    CreateOperation operation = message.findCreateOperation( grid );
+    assertFalse( operation.getProperties().names().contains( "splitContainer" ) );
+  }
+
+  @Test
+  public void testRenderCreate_withFrozenColumns() throws IOException {
+    grid.setFrozenColumnCount( 1 );
+
+    lca.renderInitialization( grid );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    CreateOperation operation = message.findCreateOperation( grid );
+    assertEquals( JsonValue.TRUE, operation.getProperties().get( "splitContainer" ) );
+  }
+
+  @Test
+  public void testRenderCreate_withFrozenColumnsAllowsRestoringFrozenColumns() throws IOException {
+    grid.setFrozenColumnCount( 1 );
+    lca.renderInitialization( grid );
+    Fixture.markInitialized( grid );
+
+    grid.setFrozenColumnCount( 0 );
+    grid.setFrozenColumnCount( 1 );
+
+    assertEquals( 1, grid.getFrozenColumnCount() );
+  }
+
   @Test
   public void testRenderInitialization_setsOperationHandler() throws IOException {
     String id = getId( grid );
@@ -170,6 +203,39 @@ public class GridLCA_Test {
     assertEquals( 10, message.findSetProperty( grid, "itemCount" ).asInt() );
   }
 
+  @Test
+  public void testRenderItemCount_withFilter() throws IOException {
+    createGridItems( grid, 10, 3 );
+    grid.setFilter( new IGridItemFilter() {
+      public boolean select( GridItem item ) {
+        return !item.getText().equals( "root_1" );
+      }
+    } );
+    lca.renderChanges( grid );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertEquals( 9, message.findSetProperty( grid, "itemCount" ).asInt() );
+  }
+
+  @Test
+  public void testRenderFilteredOutItem_destroysItem() throws IOException {
+    GridItem[] items = createGridItems( grid, 3, 1 );
+    Fixture.markInitialized( items[ 2 ] );
+    Fixture.markInitialized( items[ 3 ] );
+    grid.setFilter( new IGridItemFilter() {
+      public boolean select( GridItem item ) {
+        return !item.getText().equals( "root_1" );
+      }
+    } );
+    lca.renderChanges( grid );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertTrue( hasDestroyOperation( message, items[ 2 ] ) );
+    assertFalse( hasDestroyOperation( message, items[ 3 ] ) );
+    assertFalse( WidgetUtil.getAdapter( items[ 2 ] ).isInitialized() );
+    assertFalse( WidgetUtil.getAdapter( items[ 3 ] ).isInitialized() );
+  }
+
   @Test
   public void testRenderItemCountUnchanged() throws IOException {
     Fixture.markInitialized( display );
@@ -885,6 +951,75 @@ public class GridLCA_Test {
     assertNull( message.findListenOperation( hScroll, "Selection" ) );
   }
 
+  @Test
+  public void testRenderScrollBarsSelectionListener_ColumnVirtualization() throws Exception {
+    ScrollBar hScroll = grid.getHorizontalBar();
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( grid );
+    Fixture.markInitialized( hScroll );
+    Fixture.preserveWidgets();
+
+    grid.setColumnVirtualizationEnabled( true );
+    lca.renderChanges( grid );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertEquals( JsonValue.TRUE, message.findListenProperty( hScroll, "Selection" ) );
+    assertFalse( hScroll.isListening( SWT.Selection ) );
+  }
+
+  @Test
+  public void testRenderScrollBarsSelectionListener_ColumnVirtualizationOff() throws Exception {
+    ScrollBar hScroll = grid.getHorizontalBar();
+    grid.setColumnVirtualizationEnabled( true );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( grid );
+    Fixture.markInitialized( hScroll );
+    Fixture.preserveWidgets();
+
+    grid.setColumnVirtualizationEnabled( false );
+    lca.renderChanges( grid );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertEquals( JsonValue.FALSE, message.findListenProperty( hScroll, "Selection" ) );
+  }
+
+  @Test
+  public void testRenderRemoveScrollBarsSelectionListener_ColumnVirtualization()
+    throws Exception
+  {
+    ScrollBar hScroll = grid.getHorizontalBar();
+    Listener listener = mock( Listener.class );
+    hScroll.addListener( SWT.Selection, listener );
+    grid.setColumnVirtualizationEnabled( true );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( grid );
+    Fixture.markInitialized( hScroll );
+    Fixture.preserveWidgets();
+
+    hScroll.removeListener( SWT.Selection, listener );
+    lca.renderChanges( grid );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertEquals( JsonValue.TRUE, message.findListenProperty( hScroll, "Selection" ) );
+  }
+
+  @Test
+  public void testRenderScrollBarsSelectionListenerUnchanged_ColumnVirtualization()
+    throws Exception
+  {
+    ScrollBar hScroll = grid.getHorizontalBar();
+    grid.setColumnVirtualizationEnabled( true );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( grid );
+    Fixture.markInitialized( hScroll );
+    Fixture.preserveWidgets();
+
+    lca.renderChanges( grid );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertNull( message.findListenOperation( hScroll, "Selection" ) );
+  }
+
   @Test
   public void testRenderAddScrollBarsSelectionListener_Vertical() throws Exception {
     ScrollBar vScroll = grid.getVerticalBar();
@@ -1244,4 +1379,15 @@ public class GridLCA_Test {
     grid.getAdapter( IGridAdapter.class ).doRedraw();
   }
 
+  private static boolean hasDestroyOperation( TestMessage message, GridItem item ) {
+    boolean result = false;
+    for( int i = 0; i < message.getOperationCount(); i++ ) {
+      Operation operation = message.getOperation( i );
+      if( operation instanceof DestroyOperation && getId( item ).equals( operation.getTarget() ) ) {
+        result = true;
+      }
+    }
+    return result;
+  }
+
 }